@@ -1,209 +1,433 @@
 package me.linhyeok;
 
 import org.bukkit.Material;
-import org.bukkit.World;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.plugin.Plugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * DynamicMob - configuration manager
  * - 월드 화이트리스트(enabled-worlds)
  * - 각종 스폰/장비/특수 확률 로딩
- * - EquipmentManager가 요구하는 전역 특수 확률 게터 포함
+ * - 로딩 결과는 불변 RuleSnapshot으로 컴파일되어 volatile 참조로 원자적으로 교체됨
+ * - /dm reload는 전용 백그라운드 스레드에서 YAML 파싱 + 컴파일 (명령/틱 스레드를 막지 않음)
+ * - 검증 오류는 하나도 빠짐없이 모아서 보고하고, 오류가 있으면 이전 스냅샷을 그대로 유지
+ * - 섹션마다 지문(fingerprint)을 남겨 두고, 바뀌지 않은 spawn-chance.<entity> / replacement-spawn은
+ *   이전 스냅샷의 컴파일 결과(장비 프로필, 스케일/대체 테이블)를 그대로 재사용
+ * - rules/<entity>.yml이 있으면 spawn-chance.<entity> 위에 덮어씀 (RuleFiles, 바뀐 파일만 다시 파싱)
+ * - 오류 없이 컴파일된 결과는 compiled-rules.bin에 저장, 시작 시 설정 파일이 그대로면 YAML 대신 그걸 읽음 (SnapshotCache)
  */
 public class ConfigManager {
+    // profiles.<name>.rules에 쓸 수 있는 섹션 (스폰/장비 규칙만, 나머지는 전역 설정)
+    private static final Set<String> PROFILE_SECTIONS = Set.of(
+            "mob-spawn", "light-threshold", "light-threshold-worlds", "enchant-chance", "enchant-pools",
+            "special", "jockey-chance", "spawn-chance", "replacement-spawn", "replacement-toggles");
+
     private final Plugin plugin;
+    private final RuleFiles ruleFiles;
+    private final SnapshotCache cache;
+
+    // ==== 현재 규칙 스냅샷 (리전 스레드는 이 참조만 읽음) ====
+    private volatile RuleSnapshot snapshot = RuleSnapshot.EMPTY;
+
+    // 마지막으로 적용된 (오류 없는) 컴파일 결과. 다음 리로드에서 바뀌지 않은 섹션을 재사용할 때 씀
+    private volatile Compiled last;
+
+    // 리로드 전용 스레드 (동시에 여러 번 요청해도 순서대로 하나씩 컴파일)
+    private final ExecutorService compiler = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "DynamicMob-config");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** 리로드 결과 */
+    public static final class ReloadResult {
+        private final boolean published;
+        private final List<String> errors;
+        private final List<String> changed;
+        private final long nanos;
+
+        ReloadResult(boolean published, List<String> errors, List<String> changed, long nanos) {
+            this.published = published;
+            this.errors = Collections.unmodifiableList(errors);
+            this.changed = Collections.unmodifiableList(changed);
+            this.nanos = nanos;
+        }
+
+        /** 새 스냅샷이 적용되었는지 */
+        public boolean isPublished() { return published; }
+        public List<String> getErrors() { return errors; }
+        /** 이전 스냅샷과 비교해 바뀐 섹션 (spawn-chance.zombie, replacement-spawn, jockey-chance, special) */
+        public List<String> getChanged() { return changed; }
+        public long getNanos() { return nanos; }
+    }
 
-    // ==== 월드 화이트리스트 ====
-    private Set<String> enabledWorlds = new HashSet<>();
-
-    // ==== 기본 스폰/설정 ====
-    private double mobSpawnMultiplier = 1.0;
-
-    // ==== 인첸트 확률 ====
-    private double weaponEnchantChance = 1.0;
-    private double armorEnchantChance  = 1.0;
-
-    // ==== Killer Bunny ====
-    private boolean killerBunnyEnabled = true;
-    private double  killerBunnyChance  = 0.001;
-    private boolean killerBunnyApplyNatural  = true;
-    private boolean killerBunnyApplySpawner  = false;
-    private boolean killerBunnyApplySpawnEgg = true;
-
-    // ==== 조키 확률 ====
-    private final Map<String, Double> jockeyChances = new HashMap<>();
-
-    // ==== 엔티티별 장비/특수 확률 및 제한 ====
-    private final Map<EntityType, Map<String, Map<Material, Double>>> spawnChances = new EnumMap<>(EntityType.class);
-    private final Map<EntityType, Map<String, Double>> specialChances = new EnumMap<>(EntityType.class);
-    private final Set<EntityType> disabledEntities = EnumSet.noneOf(EntityType.class);
-    private final Map<EntityType, Double> naturalSpawnChance = new EnumMap<>(EntityType.class);
-
-    // ==== 엔티티별 드랍 아이템 설정 ====
-    private final Map<EntityType, Map<Material, Double>> dropChances = new EnumMap<>(EntityType.class);
-
-    // ==== 엔티티별 스케일 설정 ====
-    private final Map<EntityType, Map<Double, Double>> scaleChances = new EnumMap<>(EntityType.class);
-
-    // ==== 대체 스폰 ====
-    private final Map<EntityType, Map<EntityType, Double>> replacementChances = new EnumMap<>(EntityType.class);
-    private boolean replacementApplyNatural  = true;
-    private boolean replacementApplySpawner  = false;
-    private boolean replacementApplySpawnEgg = false;
-
-    // ==== 블록 헬멧 ====
-    private final Map<Material, Double> generalBlockHelmetChances   = new EnumMap<>(Material.class);
-    private final Map<Material, Double> skeletonBlockHelmetChances  = new EnumMap<>(Material.class);
-    private boolean blockHelmetEnabled = true;
-
-    // ==== EquipmentManager 전역 특수 확률 ====
-    private double boneInHandChance        = 0.0;
-    private double drownedChannelingChance = 0.0;
-    private double chargedCreeperChance    = 0.0;
-
-    // ==== Vindicator/Illusioner 손 아이템 ====
-    private Material vindicatorHandItem = null;
-    private Material illusionerHandItem = null;
-    private double illusionerFlameChance = 0.0;
-
-    // ==== 1.21.11+ 좀비/허스크 Spear(창) & 조키 ====
-    private double zombieSpearChance = 0.0;
-    private double huskSpearChance = 0.0;
-    private double zombieHorseJockeyChance = 0.0;
-    private double huskCamelJockeyChance = 0.0;
-    private double drownedNautilusJockeyChance = 0.0;
-
-    // ==== 1.21.11+ 피글린/좀비화 피글린 금창(Golden Spear) ====
-    private double piglinGoldSpearChance = 0.0;
-    private double zombifiedPiglinGoldSpearChance = 0.0;
+    /** 컴파일 결과 + 입력 값(빌더, 캐시 저장용) + 그때 계산한 섹션 지문 */
+    private static final class Compiled {
+        final RuleSnapshot snapshot;
+        final RuleSnapshot.Builder builder;
+        final Map<String, Long> fingerprints;
+        final List<String> changed;
+
+        Compiled(RuleSnapshot.Builder builder, Map<String, Long> fingerprints, List<String> changed) {
+            this.snapshot = builder.build();
+            this.builder = builder;
+            this.fingerprints = fingerprints;
+            this.changed = changed;
+        }
+    }
 
     public ConfigManager(Plugin plugin) {
         this.plugin = plugin;
+        this.ruleFiles = new RuleFiles(plugin.getDataFolder());
+        this.cache = new SnapshotCache(plugin);
+    }
+
+    /**
+     * 동기 로드 (onEnable). 적용할 이전 규칙이 없으므로 오류가 있어도 경고만 남기고 적용.
+     * 설정 파일과 서버 버전이 지난번과 같으면 compiled-rules.bin에서 바로 읽음.
+     */
+    public ReloadResult reload() {
+        long start = System.nanoTime();
+        byte[] key = cache.key();
+        SnapshotCache.Entry cached = cache.load(key);
+        if (cached != null) {
+            publish(new Compiled(cached.builder, cached.fingerprints, Collections.emptyList()), true);
+            return new ReloadResult(true, new ArrayList<>(), Collections.emptyList(), System.nanoTime() - start);
+        }
+
+        List<String> errors = new ArrayList<>();
+        Compiled compiled = compile(loadYaml(errors), ruleFiles.load(errors), errors, last, true);
+        for (String error : errors) plugin.getLogger().warning(error);
+        publish(compiled, errors.isEmpty());
+        if (errors.isEmpty()) cache.save(key, compiled.builder, compiled.fingerprints);
+        return new ReloadResult(true, errors, compiled.changed, System.nanoTime() - start);
+    }
+
+    /**
+     * 비동기 리로드 (/dm reload). 파싱/컴파일은 백그라운드 스레드에서 하고,
+     * 검증 오류가 하나도 없을 때만 새 스냅샷을 적용.
+     */
+    public CompletableFuture<ReloadResult> reloadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            byte[] key = cache.key();
+            List<String> errors = new ArrayList<>();
+            Compiled compiled = compile(loadYaml(errors), ruleFiles.load(errors), errors, last, true);
+            boolean ok = errors.isEmpty();
+            if (ok) {
+                publish(compiled, true);
+                cache.save(key, compiled.builder, compiled.fingerprints);
+            }
+            return new ReloadResult(ok, errors, compiled.changed, System.nanoTime() - start);
+        }, compiler);
+    }
+
+    /** onDisable에서 호출 */
+    public void shutdown() {
+        compiler.shutdownNow();
+    }
+
+    /**
+     * 완성된 스냅샷을 한 번에 교체 (읽는 쪽은 이전/새 스냅샷 중 하나만 봄).
+     * 오류가 있었던 스냅샷은 다음 리로드에서 재사용하지 않음 (오류가 다시 보고되게).
+     */
+    private void publish(Compiled compiled, boolean reusable) {
+        RuleSnapshot rules = compiled.snapshot;
+        if (rules.hasRandomSeed()) {
+            Rng.seed(rules.getRandomSeed());
+        } else {
+            Rng.unseed();
+        }
+        last = reusable ? compiled : null;
+        snapshot = rules;
+    }
+
+    /**
+     * plugins/DynamicMob/config.yml을 직접 읽음 (plugin.getConfig()는 스레드 안전하지 않으므로 사용 안 함).
+     * 기본값은 JavaPlugin.reloadConfig()와 같이 jar 안의 config.yml.
+     */
+    private YamlConfiguration loadYaml(List<String> errors) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        File file = new File(plugin.getDataFolder(), "config.yml");
+        try {
+            yaml.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            errors.add("Could not read " + file.getName() + ": " + e.getMessage());
+        }
+        InputStream bundled = plugin.getResource("config.yml");
+        if (bundled != null) {
+            try (Reader r = new InputStreamReader(bundled, StandardCharsets.UTF_8)) {
+                yaml.setDefaults(YamlConfiguration.loadConfiguration(r));
+            } catch (IOException e) {
+                errors.add("Could not read bundled config.yml: " + e.getMessage());
+            }
+        }
+        return yaml;
     }
 
-    public void reload() {
-        plugin.reloadConfig();
-        final var cfg = plugin.getConfig();
+    /**
+     * YAML → RuleSnapshot. 잘못된 값은 건너뛰고 errors에 추가 (부작용 없음).
+     * previous가 있으면 바뀌지 않은 섹션의 컴파일 결과를 재사용, withProfiles면 profiles.<name>도 컴파일.
+     */
+    private Compiled compile(ConfigurationSection cfg, Map<String, ConfigurationSection> rules, List<String> errors,
+                             Compiled previous, boolean withProfiles) {
+        Map<String, Long> prints = new HashMap<>();
+        List<String> changed = new ArrayList<>();
+        RuleSnapshot.Builder b = fill(cfg, rules, errors, previous, withProfiles, prints, changed);
+        return new Compiled(b, prints, changed);
+    }
+
+    /** compile()의 본체: 빌더를 채우고 섹션 지문/변경 목록을 기록 */
+    private RuleSnapshot.Builder fill(ConfigurationSection cfg, Map<String, ConfigurationSection> rules, List<String> errors,
+                                      Compiled previous, boolean withProfiles,
+                                      Map<String, Long> prints, List<String> changed) {
+        final RuleSnapshot.Builder b = new RuleSnapshot.Builder();
+        final Map<String, Long> previousPrints = previous != null ? previous.fingerprints : Collections.emptyMap();
 
         // ---- enabled-worlds ----
         List<String> worlds = cfg.getStringList("enabled-worlds");
         if (worlds.isEmpty()) {
-            enabledWorlds = new HashSet<>(Arrays.asList("world", "world_nether", "world_the_end"));
+            b.enabledWorlds = new HashSet<>(Arrays.asList("world", "world_nether", "world_the_end"));
         } else {
-            enabledWorlds = new HashSet<>(worlds);
+            b.enabledWorlds = new HashSet<>(worlds);
+        }
+
+        // ---- light-threshold (자연 스폰 몬스터 최대 밝기, 월드별 덮어쓰기) ----
+        b.lightThreshold = clampLight(cfg.getInt("light-threshold", 15));
+        ConfigurationSection lightWorlds = cfg.getConfigurationSection("light-threshold-worlds");
+        if (lightWorlds != null) {
+            for (String world : lightWorlds.getKeys(false)) {
+                b.worldLightThresholds.put(world, clampLight(lightWorlds.getInt(world, b.lightThreshold)));
+            }
+        }
+
+        // ---- random-seed (벤치마크/테스트 재현용, 평소엔 비워둠) ----
+        if (cfg.isSet("random-seed")) {
+            b.randomSeed = cfg.getLong("random-seed", 0L);
         }
 
         // ---- mob-spawn ----
         ConfigurationSection mobSpawn = cfg.getConfigurationSection("mob-spawn");
-        mobSpawnMultiplier = (mobSpawn != null) ? mobSpawn.getDouble("multiplier", 1.0) : 1.0;
+        b.mobSpawnMultiplier = (mobSpawn != null) ? mobSpawn.getDouble("multiplier", 1.0) : 1.0;
+
+        // ---- performance ----
+        ConfigurationSection perf = cfg.getConfigurationSection("performance");
+        b.equipmentPerTick = (perf != null) ? perf.getInt("equipment-per-tick", 256) : 256;
+        b.loadoutPoolSize = (perf != null) ? Math.max(0, perf.getInt("loadout-pool-size", 64)) : 64;
+
+        // ---- spawners (스포너별 장비 적용 한도) ----
+        b.spawnerEquipmentPerMinute = Math.max(0, cfg.getInt("spawners.equipment-per-minute", 0));
+
+        // ---- metrics (/dm stats) ----
+        b.metricsEnabled = cfg.getBoolean("metrics.enabled", true);
+        b.metricsHttpEnabled = cfg.getBoolean("metrics.http.enabled", false);
+        b.metricsHttpBind = cfg.getString("metrics.http.bind", "127.0.0.1");
+        b.metricsHttpPort = cfg.getInt("metrics.http.port", 9464);
+        b.metricsHttpRefreshSeconds = Math.max(1, cfg.getInt("metrics.http.refresh-seconds", 5));
+
+        // ---- auto-reload (config.yml 감시, ConfigWatcher) ----
+        b.autoReloadEnabled = cfg.getBoolean("auto-reload.enabled", false);
+        b.autoReloadDebounceMillis = Math.max(50L, cfg.getLong("auto-reload.debounce-ms", 500L));
+
+        // ---- governor (부하 기반 multiplier 자동 조절) ----
+        ConfigurationSection gov = cfg.getConfigurationSection("governor");
+        if (gov != null) {
+            b.governorEnabled     = gov.getBoolean("enabled", false);
+            b.governorMsptSoft    = gov.getDouble("mspt-soft", 40.0);
+            b.governorMsptHard    = gov.getDouble("mspt-hard", 50.0);
+            b.governorMobsSoft    = gov.getLong("mobs-per-region-soft", 150L);
+            b.governorMobsHard    = gov.getLong("mobs-per-region-hard", 300L);
+            b.governorBackoffRate = Math.max(0.0, Math.min(1.0, gov.getDouble("backoff-rate", 0.5)));
+            b.governorRecoverRate = Math.max(0.0, Math.min(1.0, gov.getDouble("recover-rate", 0.1)));
+        }
+
+        // ---- density-caps (청크/구역당 추가 스폰 상한) ----
+        ConfigurationSection density = cfg.getConfigurationSection("density-caps");
+        if (density != null) {
+            b.densityCapsEnabled = density.getBoolean("enabled", false);
+            readDensityCaps(density.getConfigurationSection("chunk"), "chunk", b.chunkDensityCaps, errors);
+            readDensityCaps(density.getConfigurationSection("region"), "region", b.regionDensityCaps, errors);
+        }
 
         // ---- enchant-chance ----
         ConfigurationSection enchantSec = cfg.getConfigurationSection("enchant-chance");
-        weaponEnchantChance = (enchantSec != null) ? enchantSec.getDouble("weapon", 1.0) : 1.0;
-        armorEnchantChance  = (enchantSec != null) ? enchantSec.getDouble("armor", 1.0)  : 1.0;
+        b.weaponEnchantChance = (enchantSec != null) ? enchantSec.getDouble("weapon", 1.0) : 1.0;
+        b.armorEnchantChance  = (enchantSec != null) ? enchantSec.getDouble("armor", 1.0)  : 1.0;
+
+        // ---- enchant-pools (엔티티/종류별 인챈트 후보, default는 모든 엔티티) ----
+        ConfigurationSection pools = cfg.getConfigurationSection("enchant-pools");
+        // 장비 프로필에 같이 컴파일되므로 바뀌면 엔티티 재사용도 하지 않음
+        final boolean poolsUnchanged = track("enchant-pools", pools, prints, previousPrints, changed);
+        if (pools != null) {
+            for (String key : pools.getKeys(false)) {
+                ConfigurationSection entitySec = pools.getConfigurationSection(key);
+                if (entitySec == null) continue;
+                if (key.equalsIgnoreCase("default")) {
+                    readEnchantPools(entitySec, "enchant-pools." + key, b.defaultEnchantTables, errors);
+                    continue;
+                }
+                try {
+                    EntityType type = EntityType.valueOf(key.toUpperCase(Locale.ROOT));
+                    EnchantTable[] tables = new EnchantTable[EnchantTable.KINDS];
+                    readEnchantPools(entitySec, "enchant-pools." + key, tables, errors);
+                    b.enchantTables.put(type, tables);
+                } catch (IllegalArgumentException e) {
+                    errors.add("Unknown entity type in enchant-pools: " + key);
+                }
+            }
+        }
 
         // ---- special root ----
         ConfigurationSection specialRoot = cfg.getConfigurationSection("special");
+        // 스칼라 값뿐이라 컴파일할 테이블은 없음 → 변경 여부만 기록
+        track("special", specialRoot, prints, previousPrints, changed);
 
         // Killer Bunny
         if (specialRoot != null) {
             ConfigurationSection killer = specialRoot.getConfigurationSection("killer_bunny_on_rabbit_spawn");
             if (killer != null) {
-                killerBunnyEnabled       = killer.getBoolean("enabled", true);
-                killerBunnyChance        = killer.getDouble("chance", 0.001);
-                killerBunnyApplyNatural  = killer.getBoolean("apply-to-natural", true);
-                killerBunnyApplySpawner  = killer.getBoolean("apply-to-spawner", false);
-                killerBunnyApplySpawnEgg = killer.getBoolean("apply-to-spawn-egg", true);
+                b.killerBunnyEnabled       = killer.getBoolean("enabled", true);
+                b.killerBunnyChance        = killer.getDouble("chance", 0.001);
+                b.killerBunnyApplyNatural  = killer.getBoolean("apply-to-natural", true);
+                b.killerBunnyApplySpawner  = killer.getBoolean("apply-to-spawner", false);
+                b.killerBunnyApplySpawnEgg = killer.getBoolean("apply-to-spawn-egg", true);
             }
 
             // EquipmentManager 전역 특수 확률
-            boneInHandChance        = specialRoot.getDouble("bone_in_hand_chance", 0.0);
-            drownedChannelingChance = specialRoot.getDouble("drowned_channeling_chance", 0.0);
-            chargedCreeperChance    = specialRoot.getDouble("charged_creeper_chance", 0.0);
+            b.boneInHandChance        = specialRoot.getDouble("bone_in_hand_chance", 0.0);
+            b.drownedChannelingChance = specialRoot.getDouble("drowned_channeling_chance", 0.0);
+            b.chargedCreeperChance    = specialRoot.getDouble("charged_creeper_chance", 0.0);
 
             // 1.21.11+ 좀비/허스크 Spear(창)
-            zombieSpearChance = specialRoot.getDouble("zombie_spear_chance", 0.0);
-            huskSpearChance = specialRoot.getDouble("husk_spear_chance", 0.0);
+            b.zombieSpearChance = specialRoot.getDouble("zombie_spear_chance", 0.0);
+            b.huskSpearChance = specialRoot.getDouble("husk_spear_chance", 0.0);
 
             // 1.21.11+ 피글린/좀비화 피글린 금창(Golden Spear)
-            piglinGoldSpearChance = specialRoot.getDouble("piglin_gold_spear_chance", 0.0);
-            zombifiedPiglinGoldSpearChance = specialRoot.getDouble("zombified_piglin_gold_spear_chance", 0.0);
+            b.piglinGoldSpearChance = specialRoot.getDouble("piglin_gold_spear_chance", 0.0);
+            b.zombifiedPiglinGoldSpearChance = specialRoot.getDouble("zombified_piglin_gold_spear_chance", 0.0);
 
             // Vindicator/Illusioner 손 아이템
             String vindicatorItemStr = specialRoot.getString("vindicator_hand_item", null);
             if (vindicatorItemStr != null && !vindicatorItemStr.equalsIgnoreCase("NONE")) {
                 try {
-                    vindicatorHandItem = Material.valueOf(vindicatorItemStr.toUpperCase(Locale.ROOT));
+                    b.vindicatorHandItem = Material.valueOf(vindicatorItemStr.toUpperCase(Locale.ROOT));
+                    // 도끼 종류만 허용 (장비는 백그라운드에서 굴리므로 여기서 한 번만 검사)
+                    if (MaterialClass.of(b.vindicatorHandItem) != MaterialClass.AXE) {
+                        errors.add("vindicator_hand_item must be an axe type. Invalid item: " + vindicatorItemStr);
+                        b.vindicatorHandItem = null;
+                    }
                 } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid vindicator_hand_item: " + vindicatorItemStr);
-                    vindicatorHandItem = null;
+                    errors.add("Invalid vindicator_hand_item: " + vindicatorItemStr);
+                    b.vindicatorHandItem = null;
                 }
             } else {
-                vindicatorHandItem = null;
+                b.vindicatorHandItem = null;
             }
 
             String illusionerItemStr = specialRoot.getString("illusioner_hand_item", null);
             if (illusionerItemStr != null && !illusionerItemStr.equalsIgnoreCase("NONE")) {
                 try {
-                    illusionerHandItem = Material.valueOf(illusionerItemStr.toUpperCase(Locale.ROOT));
+                    b.illusionerHandItem = Material.valueOf(illusionerItemStr.toUpperCase(Locale.ROOT));
+                    // 활만 허용
+                    if (b.illusionerHandItem != Material.BOW) {
+                        errors.add("illusioner_hand_item must be BOW. Invalid item: " + illusionerItemStr);
+                        b.illusionerHandItem = null;
+                    }
                 } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid illusioner_hand_item: " + illusionerItemStr);
-                    illusionerHandItem = null;
+                    errors.add("Invalid illusioner_hand_item: " + illusionerItemStr);
+                    b.illusionerHandItem = null;
                 }
             } else {
-                illusionerHandItem = null;
+                b.illusionerHandItem = null;
             }
 
             // Illusioner Flame 인챈트 확률
-            illusionerFlameChance = specialRoot.getDouble("illusioner_flame_chance", 0.0);
+            b.illusionerFlameChance = specialRoot.getDouble("illusioner_flame_chance", 0.0);
         }
 
         // ---- jockey-chance ----
-        jockeyChances.clear();
         ConfigurationSection jcs = cfg.getConfigurationSection("jockey-chance");
+        track("jockey-chance", jcs, prints, previousPrints, changed);
         if (jcs != null) {
             for (String key : jcs.getKeys(false)) {
-                jockeyChances.put(key.toLowerCase(Locale.ROOT), jcs.getDouble(key, 0.0));
+                b.jockeyChances.put(key.toLowerCase(Locale.ROOT), jcs.getDouble(key, 0.0));
             }
         }
 
         // 1.21.11+ 조키 확률
-        zombieHorseJockeyChance = jockeyChances.getOrDefault("zombie_horse_jockey", 0.0);
-        huskCamelJockeyChance = jockeyChances.getOrDefault("husk_camel_jockey", 0.0);
-        drownedNautilusJockeyChance = jockeyChances.getOrDefault("drowned_nautilus_jockey", 0.0);
+        b.zombieHorseJockeyChance = b.jockeyChances.getOrDefault("zombie_horse_jockey", 0.0);
+        b.huskCamelJockeyChance = b.jockeyChances.getOrDefault("husk_camel_jockey", 0.0);
+        b.drownedNautilusJockeyChance = b.jockeyChances.getOrDefault("drowned_nautilus_jockey", 0.0);
 
         // ---- spawn-chance & entity specials ----
-        spawnChances.clear();
-        specialChances.clear();
-        disabledEntities.clear();
-        naturalSpawnChance.clear();
-        dropChances.clear();
-        scaleChances.clear();
 
+        // config.yml의 spawn-chance.<entity> + rules/<entity>.yml (파일 쪽이 키 단위로 덮어씀)
         ConfigurationSection spawnSec = cfg.getConfigurationSection("spawn-chance");
+        Map<String, ConfigurationSection> entitySections = new LinkedHashMap<>();
         if (spawnSec != null) {
             for (String etName : spawnSec.getKeys(false)) {
+                entitySections.put(etName.toLowerCase(Locale.ROOT), spawnSec.getConfigurationSection(etName));
+            }
+        }
+        for (Map.Entry<String, ConfigurationSection> file : rules.entrySet()) {
+            try {
+                EntityType.valueOf(file.getKey().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                errors.add("Unknown entity type in " + RuleFiles.DIRECTORY + "/" + file.getKey() + ".yml");
+                continue;
+            }
+            entitySections.merge(file.getKey(), file.getValue(), RuleFiles::merge);
+        }
+        if (!entitySections.isEmpty()) {
+            for (Map.Entry<String, ConfigurationSection> entity : entitySections.entrySet()) {
+                String etName = entity.getKey();
                 EntityType type;
                 try {
                     type = EntityType.valueOf(etName.toUpperCase(Locale.ROOT));
                 } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Unknown entity type in spawn-chance: " + etName);
+                    errors.add("Unknown entity type in spawn-chance: " + etName);
                     continue;
                 }
-                ConfigurationSection entSec = spawnSec.getConfigurationSection(etName);
+                ConfigurationSection entSec = entity.getValue();
                 if (entSec == null) continue;
 
+                // 바뀌지 않은 엔티티는 이전 컴파일 결과 재사용
+                if (track("spawn-chance." + etName, entSec, prints, previousPrints, changed) && poolsUnchanged) {
+                    reuseEntity(b, previous, type);
+                    continue;
+                }
+
                 // enable/disable
                 boolean enabled = entSec.getBoolean("enabled", true);
-                if (!enabled) disabledEntities.add(type);
+                if (!enabled) b.disabledEntities.add(type);
 
                 // natural-limit
                 if (entSec.isSet("natural-limit")) {
-                    naturalSpawnChance.put(type, entSec.getDouble("natural-limit", 1.0));
+                    b.naturalSpawnChance.put(type, entSec.getDouble("natural-limit", 1.0));
+                }
+
+                // light-threshold (이 엔티티만 밝기 기준 변경)
+                if (entSec.isSet("light-threshold")) {
+                    b.entityLightThresholds.put(type, clampLight(entSec.getInt("light-threshold", 15)));
                 }
 
                 // equipment chances
@@ -216,13 +440,13 @@ public class ConfigManager {
                             try {
                                 m.put(Material.valueOf(matName.toUpperCase(Locale.ROOT)), slotSec.getDouble(matName, 0.0));
                             } catch (IllegalArgumentException e) {
-                                plugin.getLogger().warning("Invalid material in " + etName + "." + slot + ": " + matName);
+                                errors.add("Invalid material in " + etName + "." + slot + ": " + matName);
                             }
                         }
                         slotMap.put(slot, m);
                     }
                 }
-                spawnChances.put(type, slotMap);
+                b.spawnChances.put(type, slotMap);
 
                 // drops
                 ConfigurationSection dropSec = entSec.getConfigurationSection("drops");
@@ -232,15 +456,15 @@ public class ConfigManager {
                         try {
                             drops.put(Material.valueOf(matName.toUpperCase(Locale.ROOT)), dropSec.getDouble(matName, 0.0));
                         } catch (IllegalArgumentException e) {
-                            plugin.getLogger().warning("Invalid material in " + etName + ".drops: " + matName);
+                            errors.add("Invalid material in " + etName + ".drops: " + matName);
                         }
                     }
-                    dropChances.put(type, drops);
+                    b.dropChances.put(type, drops);
                 }
 
                 // scale - 대체 형식: scale_values 리스트 사용
                 if (entSec.isList("scale_values")) {
-                    Map<Double, Double> scales = new HashMap<>();
+                    Map<Double, Double> scales = new LinkedHashMap<>();
                     List<?> scaleList = entSec.getList("scale_values");
 
                     if (scaleList != null) {
@@ -257,21 +481,21 @@ public class ConfigManager {
                                         plugin.getLogger().info("Loaded scale for " + etName + ": " + size + " = " + chance);
                                     }
                                 } catch (Exception e) {
-                                    plugin.getLogger().warning("Invalid scale_values entry for " + etName);
+                                    errors.add("Invalid scale_values entry for " + etName);
                                 }
                             }
                         }
                     }
 
                     if (!scales.isEmpty()) {
-                        scaleChances.put(type, scales);
+                        b.scaleChances.put(type, scales);
                     }
                 }
 
                 // scale (키는 반드시 따옴표로 감싸야 함: "0.5": 0.1)
                 ConfigurationSection scaleSec = entSec.getConfigurationSection("scale");
                 if (scaleSec != null) {
-                    Map<Double, Double> scales = new HashMap<>();
+                    Map<Double, Double> scales = new LinkedHashMap<>();
 
                     for (String key : scaleSec.getKeys(false)) {
                         Object rawValue = scaleSec.get(key);
@@ -291,12 +515,12 @@ public class ConfigManager {
                                 plugin.getLogger().info("Loaded scale for " + etName + ": " + scaleValue + " = " + chance);
                             }
                         } catch (Exception e) {
-                            plugin.getLogger().warning("Invalid scale in " + etName + ": " + key + " (use scale_values instead)");
+                            errors.add("Invalid scale in " + etName + ": " + key + " (use scale_values instead)");
                         }
                     }
 
                     if (!scales.isEmpty()) {
-                        scaleChances.put(type, scales);
+                        b.scaleChances.put(type, scales);
                     }
                 }
 
@@ -308,20 +532,22 @@ public class ConfigManager {
                         spec.put(k.toUpperCase(Locale.ROOT), entSpecSec.getDouble(k, 0.0));
                     }
                 }
-                specialChances.put(type, spec);
+                b.specialChances.put(type, spec);
             }
         }
 
         // ---- replacement-spawn ----
-        replacementChances.clear();
         ConfigurationSection rep = cfg.getConfigurationSection("replacement-spawn");
-        if (rep != null) {
+        if (track("replacement-spawn", rep, prints, previousPrints, changed)) {
+            b.reusedReplacementTables = previous.snapshot.getReplacementTables();
+            b.replacementChances.putAll(previous.builder.replacementChances);
+        } else if (rep != null) {
             for (String srcName : rep.getKeys(false)) {
                 EntityType src;
                 try {
                     src = EntityType.valueOf(srcName.toUpperCase(Locale.ROOT));
                 } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Unknown entity type in replacement-spawn: " + srcName);
+                    errors.add("Unknown entity type in replacement-spawn: " + srcName);
                     continue;
                 }
                 ConfigurationSection m = rep.getConfigurationSection(srcName);
@@ -332,22 +558,20 @@ public class ConfigManager {
                     try {
                         inner.put(EntityType.valueOf(tgtName.toUpperCase(Locale.ROOT)), m.getDouble(tgtName, 0.0));
                     } catch (IllegalArgumentException e1) {
-                        plugin.getLogger().warning("Unknown target entity in replacement-spawn." + srcName + ": " + tgtName);
+                        errors.add("Unknown target entity in replacement-spawn." + srcName + ": " + tgtName);
                     }
                 }
-                replacementChances.put(src, inner);
+                b.replacementChances.put(src, inner);
             }
         }
 
         // ---- replacement toggles ----
         ConfigurationSection repTog = cfg.getConfigurationSection("replacement-toggles");
-        replacementApplyNatural  = repTog != null && repTog.getBoolean("apply-to-natural", true);
-        replacementApplySpawner  = repTog != null && repTog.getBoolean("apply-to-spawner", false);
-        replacementApplySpawnEgg = repTog != null && repTog.getBoolean("apply-to-spawn-egg", false);
+        b.replacementApplyNatural  = repTog != null && repTog.getBoolean("apply-to-natural", true);
+        b.replacementApplySpawner  = repTog != null && repTog.getBoolean("apply-to-spawner", false);
+        b.replacementApplySpawnEgg = repTog != null && repTog.getBoolean("apply-to-spawn-egg", false);
 
         // ---- block_helmet ----
-        generalBlockHelmetChances.clear();
-        skeletonBlockHelmetChances.clear();
         ConfigurationSection specialRoot2 = cfg.getConfigurationSection("special");
         if (specialRoot2 != null) {
             ConfigurationSection bh = specialRoot2.getConfigurationSection("block_helmet");
@@ -356,9 +580,9 @@ public class ConfigManager {
                 if (general != null) {
                     for (String k : general.getKeys(false)) {
                         try {
-                            generalBlockHelmetChances.put(Material.valueOf(k.toUpperCase(Locale.ROOT)), general.getDouble(k, 0.0));
+                            b.generalBlockHelmetChances.put(Material.valueOf(k.toUpperCase(Locale.ROOT)), general.getDouble(k, 0.0));
                         } catch (IllegalArgumentException e) {
-                            plugin.getLogger().warning("Invalid block_helmet.general material: " + k);
+                            errors.add("Invalid block_helmet.general material: " + k);
                         }
                     }
                 }
@@ -366,83 +590,233 @@ public class ConfigManager {
                 if (skeleton != null) {
                     for (String k : skeleton.getKeys(false)) {
                         try {
-                            skeletonBlockHelmetChances.put(Material.valueOf(k.toUpperCase(Locale.ROOT)), skeleton.getDouble(k, 0.0));
+                            b.skeletonBlockHelmetChances.put(Material.valueOf(k.toUpperCase(Locale.ROOT)), skeleton.getDouble(k, 0.0));
                         } catch (IllegalArgumentException e) {
-                            plugin.getLogger().warning("Invalid block_helmet.skeleton-only material: " + k);
+                            errors.add("Invalid block_helmet.skeleton-only material: " + k);
                         }
                     }
                 }
-                blockHelmetEnabled = bh.getBoolean("enabled", true);
+                b.blockHelmetEnabled = bh.getBoolean("enabled", true);
+            }
+        }
+        // ---- profiles (월드/바이옴별 덮어쓰기) ----
+        ConfigurationSection profSec = cfg.getConfigurationSection("profiles");
+        if (withProfiles && profSec != null) {
+            // 기본 설정이 바뀌면 모든 프로필이 바뀌므로 재사용하지 않고 매번 컴파일 (변경 여부만 기록)
+            track("profiles", profSec, prints, previousPrints, changed);
+            for (String name : profSec.getKeys(false)) {
+                RuleSnapshot.Builder.Profile profile = compileProfile(cfg, rules, name, profSec.getConfigurationSection(name), errors);
+                if (profile != null) b.profiles.add(profile);
             }
         }
+
+        return b;
     }
 
-    // ===== Getter =====
-
-    // 기본 스폰/설정
-    public double getMobSpawnMultiplier() { return mobSpawnMultiplier; }
-
-    // 인첸트 확률
-    public double getWeaponEnchantChance() { return weaponEnchantChance; }
-    public double getArmorEnchantChance()  { return armorEnchantChance; }
-
-    // Killer Bunny
-    public boolean isKillerBunnyEnabled()         { return killerBunnyEnabled; }
-    public double  getKillerBunnyChance()         { return killerBunnyChance; }
-    public boolean isKillerBunnyApplyNatural()    { return killerBunnyApplyNatural; }
-    public boolean isKillerBunnyApplySpawner()    { return killerBunnyApplySpawner; }
-    public boolean isKillerBunnyApplySpawnEgg()   { return killerBunnyApplySpawnEgg; }
-
-    // 조키/스폰/특수/비활성/자연 제한
-    public Map<String, Double> getJockeyChances() { return jockeyChances; }
-    public Map<EntityType, Map<String, Map<Material, Double>>> getSpawnChances() { return spawnChances; }
-    public Map<EntityType, Map<String, Double>> getSpecialChances()              { return specialChances; }
-    public Set<EntityType> getDisabledEntities()                                  { return disabledEntities; }
-    public Map<EntityType, Double> getNaturalSpawnChance()                        { return naturalSpawnChance; }
-
-    // 드랍 아이템
-    public Map<EntityType, Map<Material, Double>> getDropChances() { return dropChances; }
-
-    // 스케일
-    public Map<EntityType, Map<Double, Double>> getScaleChances() { return scaleChances; }
-
-    // 대체 스폰
-    public Map<EntityType, Map<EntityType, Double>> getReplacementChances() { return replacementChances; }
-    public boolean isReplacementApplyNatural()   { return replacementApplyNatural; }
-    public boolean isReplacementApplySpawner()   { return replacementApplySpawner; }
-    public boolean isReplacementApplySpawnEgg()  { return replacementApplySpawnEgg; }
-
-    // 블록 헬멧
-    public Map<Material, Double> getGeneralBlockHelmetChances()  { return generalBlockHelmetChances; }
-    public Map<Material, Double> getSkeletonBlockHelmetChances() { return skeletonBlockHelmetChances; }
-    public boolean isBlockHelmetEnabled()                         { return blockHelmetEnabled; }
-
-    // 월드 화이트리스트
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    public boolean isWorldEnabled(World world) {
-        return world != null && enabledWorlds.contains(world.getName());
+    /**
+     * profiles.<name>: 기본 설정 위에 rules를 덮어쓴 설정으로 따로 컴파일.
+     * rules에는 스폰/장비 규칙(PROFILE_SECTIONS)만 쓸 수 있고, 전역 설정은 오류.
+     * rules/<entity>.yml보다 프로필의 spawn-chance.<entity>가 우선.
+     * 기본 설정과 같은 오류는 한 번만 보고.
+     */
+    private RuleSnapshot.Builder.Profile compileProfile(ConfigurationSection cfg, Map<String, ConfigurationSection> rules,
+                                                        String name, ConfigurationSection sec, List<String> errors) {
+        String where = "profiles." + name;
+        if (sec == null) {
+            errors.add(where + " must be a section");
+            return null;
+        }
+        Set<String> worlds = new HashSet<>(sec.getStringList("worlds"));
+        List<String> biomes = new ArrayList<>();
+        for (String biome : sec.getStringList("biomes")) {
+            if (ProfileTable.biome(biome) == null) {
+                errors.add("Unknown biome in " + where + ": " + biome);
+            } else {
+                biomes.add(biome.toLowerCase(Locale.ROOT));
+            }
+        }
+        if (worlds.isEmpty() && biomes.isEmpty()) {
+            errors.add(where + " needs 'worlds' and/or 'biomes'");
+            return null;
+        }
+
+        ConfigurationSection overrides = sec.getConfigurationSection("rules");
+        MemoryConfiguration merged = new MemoryConfiguration();
+        if (cfg instanceof Configuration root && root.getDefaults() != null) merged.setDefaults(root.getDefaults());
+        for (Map.Entry<String, Object> e : cfg.getValues(true).entrySet()) {
+            if (!(e.getValue() instanceof ConfigurationSection) && !e.getKey().startsWith("profiles.")) {
+                merged.set(e.getKey(), e.getValue());
+            }
+        }
+        Map<String, ConfigurationSection> profileRules = new TreeMap<>(rules);
+        if (overrides != null) {
+            for (String key : overrides.getKeys(false)) {
+                if (!PROFILE_SECTIONS.contains(key)) {
+                    errors.add(where + ".rules." + key + " is a global setting and can't be set per profile");
+                }
+            }
+            for (Map.Entry<String, Object> e : overrides.getValues(true).entrySet()) {
+                String section = e.getKey().split("\\.", 2)[0];
+                if (!(e.getValue() instanceof ConfigurationSection) && PROFILE_SECTIONS.contains(section)) {
+                    merged.set(e.getKey(), e.getValue());
+                }
+            }
+            ConfigurationSection spawn = overrides.getConfigurationSection("spawn-chance");
+            if (spawn != null) {
+                for (String entity : spawn.getKeys(false)) {
+                    profileRules.merge(entity.toLowerCase(Locale.ROOT), spawn.getConfigurationSection(entity), RuleFiles::merge);
+                }
+            }
+        }
+
+        List<String> profileErrors = new ArrayList<>();
+        RuleSnapshot.Builder compiled = fill(merged, profileRules, profileErrors, null, false,
+                new HashMap<>(), new ArrayList<>());
+        for (String error : profileErrors) {
+            if (!errors.contains(error)) errors.add(where + ": " + error);
+        }
+        return new RuleSnapshot.Builder.Profile(name, worlds, biomes, compiled);
     }
 
-    // EquipmentManager 전역 특수 확률
-    public double getBoneInHandChance()        { return boneInHandChance; }
-    public double getDrownedChannelingChance() { return drownedChannelingChance; }
-    public double getChargedCreeperChance()    { return chargedCreeperChance; }
+    /**
+     * 섹션 지문을 prints에 기록하고, 이전 지문과 같으면 true (재사용 가능).
+     * 다르면 changed에 섹션 이름을 추가.
+     */
+    private static boolean track(String name, ConfigurationSection sec, Map<String, Long> prints,
+                                 Map<String, Long> previousPrints, List<String> changed) {
+        long print = fingerprint(sec);
+        prints.put(name, print);
+        Long before = previousPrints.get(name);
+        if (before != null && before == print) return true;
+        changed.add(name);
+        return false;
+    }
+
+    /**
+     * 바뀌지 않은 spawn-chance.<entity>: 이전 결과의 테이블은 그대로, 입력 값은 빌더로 옮김
+     * (입력 값은 캐시 저장과 다음 비교에 필요).
+     */
+    private static void reuseEntity(RuleSnapshot.Builder b, Compiled previous, EntityType type) {
+        RuleSnapshot.Builder pb = previous.builder;
+        if (pb.disabledEntities.contains(type)) b.disabledEntities.add(type);
+        Double natural = pb.naturalSpawnChance.get(type);
+        if (natural != null) b.naturalSpawnChance.put(type, natural);
+        Integer light = pb.entityLightThresholds.get(type);
+        if (light != null) b.entityLightThresholds.put(type, light);
+        Map<Material, Double> drops = pb.dropChances.get(type);
+        if (drops != null) b.dropChances.put(type, drops);
+        Map<String, Map<Material, Double>> slots = pb.spawnChances.get(type);
+        if (slots != null) b.spawnChances.put(type, slots);
+        Map<String, Double> specials = pb.specialChances.get(type);
+        if (specials != null) b.specialChances.put(type, specials);
+        Map<Double, Double> scales = pb.scaleChances.get(type);
+        if (scales != null) b.scaleChances.put(type, scales);
+
+        WeightedTable<Double> scale = previous.snapshot.getScaleTables().get(type);
+        if (scale != null) b.reusedScaleTables.put(type, scale);
+        b.reusedProfiles.put(type, previous.snapshot.getEquipmentProfile(type));
+    }
 
-    // Vindicator/Illusioner 손 아이템
-    public Material getVindicatorHandItem() { return vindicatorHandItem; }
-    public Material getIllusionerHandItem() { return illusionerHandItem; }
-    public double getIllusionerFlameChance() { return illusionerFlameChance; }
+    /** 섹션 내용(키 순서 포함)의 64비트 해시. 없는 섹션은 0 */
+    static long fingerprint(ConfigurationSection sec) {
+        if (sec == null) return 0L;
+        long h = 0x9E3779B97F4A7C15L;
+        for (String key : sec.getKeys(false)) {
+            Object value = sec.get(key);
+            long v = value instanceof ConfigurationSection child ? fingerprint(child) : Objects.hashCode(value);
+            h = (h ^ key.hashCode()) * 0x100000001B3L;
+            h = (h ^ v) * 0x100000001B3L;
+        }
+        return h;
+    }
 
-    // 1.21.11+ 좀비/허스크 Spear(창)
-    public double getZombieSpearChance() { return zombieSpearChance; }
-    public double getHuskSpearChance() { return huskSpearChance; }
+    /** 현재 규칙 스냅샷. 이벤트 하나를 처리하는 동안에는 같은 스냅샷을 계속 사용할 것. */
+    public RuleSnapshot snapshot() {
+        return snapshot;
+    }
 
-    // 1.21.11+ 조키
-    public double getZombieHorseJockeyChance() { return zombieHorseJockeyChance; }
-    public double getHuskCamelJockeyChance() { return huskCamelJockeyChance; }
-    public double getDrownedNautilusJockeyChance() { return drownedNautilusJockeyChance; }
+    /**
+     * enchant-pools.<entity> 하나: 종류 키(bow/melee/spear/helmet/chestplate/leggings/boots, armor = 방어구 넷 다)
+     * 아래에 인챈트 이름 → 최대 레벨, 또는 {weight, level: "최소-최대"}. 빈 섹션이면 그 종류는 인챈트 없음.
+     */
+    private static void readEnchantPools(ConfigurationSection sec, String path, EnchantTable[] out, List<String> errors) {
+        ConfigurationSection armor = sec.getConfigurationSection("armor");
+        if (armor != null) {
+            EnchantTable table = readEnchantTable(armor, path + ".armor", errors);
+            for (int k = EnchantTable.ARMOR_HEAD; k <= EnchantTable.ARMOR_FEET; k++) out[k] = table;
+        }
+        for (String key : sec.getKeys(false)) {
+            if (key.equalsIgnoreCase("armor")) continue;
+            int kind = Arrays.asList(EnchantTable.KIND_KEYS).indexOf(key.toLowerCase(Locale.ROOT));
+            ConfigurationSection kindSec = sec.getConfigurationSection(key);
+            if (kind < 0 || kindSec == null) {
+                errors.add("Unknown enchant pool in " + path + ": " + key);
+                continue;
+            }
+            out[kind] = readEnchantTable(kindSec, path + "." + key, errors);
+        }
+    }
 
-    // 1.21.11+ 피글린/좀비화 피글린 금창(Golden Spear)
-    public double getPiglinGoldSpearChance() { return piglinGoldSpearChance; }
-    public double getZombifiedPiglinGoldSpearChance() { return zombifiedPiglinGoldSpearChance; }
+    private static EnchantTable readEnchantTable(ConfigurationSection sec, String path, List<String> errors) {
+        List<Enchantment> enchantments = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<Integer> mins = new ArrayList<>();
+        List<Integer> maxes = new ArrayList<>();
+        for (String name : sec.getKeys(false)) {
+            NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+            Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+            if (enchantment == null) {
+                errors.add("Unknown enchantment in " + path + ": " + name);
+                continue;
+            }
+            double weight = 1.0;
+            String levels;
+            ConfigurationSection entry = sec.getConfigurationSection(name);
+            if (entry != null) {
+                weight = entry.getDouble("weight", 1.0);
+                levels = entry.getString("level", "1");
+            } else {
+                levels = sec.getString(name, "1");
+            }
+            int min, max;
+            try {
+                int dash = levels.indexOf('-');
+                min = Integer.parseInt(levels.substring(0, dash < 0 ? levels.length() : dash).trim());
+                max = dash < 0 ? min : Integer.parseInt(levels.substring(dash + 1).trim());
+                // 숫자 하나면 1 ~ 그 레벨 (기존 표와 같은 의미)
+                if (dash < 0) min = 1;
+            } catch (NumberFormatException e) {
+                errors.add("Invalid level in " + path + "." + name + ": " + levels);
+                continue;
+            }
+            if (min < 1 || max < min || weight <= 0) {
+                errors.add("Invalid level/weight in " + path + "." + name);
+                continue;
+            }
+            enchantments.add(enchantment);
+            weights.add(weight);
+            mins.add(min);
+            maxes.add(max);
+        }
+        return new EnchantTable(enchantments.toArray(new Enchantment[0]),
+                weights.stream().mapToDouble(Double::doubleValue).toArray(),
+                mins.stream().mapToInt(Integer::intValue).toArray(),
+                maxes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int clampLight(int light) {
+        return Math.max(0, Math.min(15, light));
+    }
+
+    private void readDensityCaps(ConfigurationSection sec, String path, Map<Integer, Integer> out, List<String> errors) {
+        if (sec == null) return;
+        for (String key : sec.getKeys(false)) {
+            int slot = DensityTracker.slotForKey(key);
+            if (slot < 0) {
+                errors.add("Unknown entity type or family in density-caps." + path + ": " + key);
+                continue;
+            }
+            out.put(slot, sec.getInt(key));
+        }
+    }
 }
\ No newline at end of file
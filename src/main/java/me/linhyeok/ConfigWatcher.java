@@ -0,0 +1,154 @@
+package me.linhyeok;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 데이터 폴더의 config.yml과 rules/*.yml 변경을 감시해서 자동으로 리로드 (auto-reload.enabled, 기본 꺼짐).
+ * - WatchService 전용 데몬 스레드가 이벤트를 받고, debounce-ms 동안 추가 쓰기가 없으면 onChange 실행
+ *   (편집기가 임시 파일 → 이름 변경 등 여러 번에 나눠 저장해도 리로드는 한 번)
+ * - 실제 리로드는 onChange(/dm reload와 같은 경로)가 담당, 검증 실패 시 이전 규칙 유지
+ * - reload 시 설정(enabled/debounce)이 바뀌었으면 다시 시작
+ */
+public final class ConfigWatcher {
+    private static final String CONFIG_FILE = "config.yml";
+
+    private final Plugin plugin;
+    private final Runnable onChange;
+
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledExecutorService debouncer;
+    private ScheduledFuture<?> pending;
+    private long debounceMillis;
+    private String runningKey;
+
+    public ConfigWatcher(Plugin plugin, Runnable onChange) {
+        this.plugin = plugin;
+        this.onChange = onChange;
+    }
+
+    /** 스냅샷 설정에 맞춰 시작/정지/재시작 (onEnable, reload에서 호출) */
+    public synchronized void apply(RuleSnapshot rules) {
+        String key = rules.isAutoReloadEnabled() ? String.valueOf(rules.getAutoReloadDebounceMillis()) : null;
+        if (key == null ? runningKey == null : key.equals(runningKey)) return;
+
+        stop();
+        if (key == null) return;
+        Path folder = plugin.getDataFolder().toPath();
+        try {
+            WatchService ws = FileSystems.getDefault().newWatchService();
+            register(ws, folder);
+            Path rulesDir = folder.resolve(RuleFiles.DIRECTORY);
+            if (Files.isDirectory(rulesDir)) register(ws, rulesDir);
+            this.watchService = ws;
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to watch " + folder + " for config changes: " + e.getMessage());
+            return;
+        }
+        this.debounceMillis = rules.getAutoReloadDebounceMillis();
+        this.debouncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DynamicMob-watch-debounce");
+            t.setDaemon(true);
+            return t;
+        });
+        WatchService ws = this.watchService;
+        this.watchThread = new Thread(() -> watch(ws), "DynamicMob-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        this.runningKey = key;
+        plugin.getLogger().info("Watching " + CONFIG_FILE + " and " + RuleFiles.DIRECTORY
+                + "/ for changes (debounce " + debounceMillis + " ms)");
+    }
+
+    private static void register(WatchService ws, Path dir) throws IOException {
+        dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /** onDisable에서 호출 */
+    public synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+            watchService = null;
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+        if (debouncer != null) {
+            debouncer.shutdownNow();
+            debouncer = null;
+        }
+        pending = null;
+        runningKey = null;
+    }
+
+    private void watch(WatchService ws) {
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                Path dir = (Path) key.watchable();
+                boolean inRules = dir.getFileName().toString().equals(RuleFiles.DIRECTORY);
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path p)) continue;
+                    String name = p.getFileName().toString();
+                    if (inRules) {
+                        touched |= name.toLowerCase(Locale.ROOT).endsWith(".yml");
+                    } else if (name.equals(CONFIG_FILE)) {
+                        touched = true;
+                    } else if (name.equals(RuleFiles.DIRECTORY) && event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        // 감시 중에 rules/ 폴더가 새로 생김
+                        try {
+                            register(ws, dir.resolve(p));
+                        } catch (IOException e) {
+                            plugin.getLogger().warning("Failed to watch " + dir.resolve(p) + ": " + e.getMessage());
+                        }
+                        touched = true;
+                    }
+                }
+                if (touched) schedule();
+                // rules/ 폴더가 지워진 경우는 다시 만들어지면 위에서 재등록
+                if (!key.reset() && !inRules) {
+                    plugin.getLogger().warning("Config folder is no longer accessible; auto-reload stopped");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // stop()
+        }
+    }
+
+    /** 마지막 쓰기로부터 debounce-ms 뒤에 한 번만 실행 */
+    private synchronized void schedule() {
+        if (debouncer == null) return;
+        if (pending != null) pending.cancel(false);
+        pending = debouncer.schedule(this::fire, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire() {
+        try {
+            onChange.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Auto-reload failed: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package me.linhyeok;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Mob;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 청크/구역(REGION_CHUNKS × REGION_CHUNKS 청크) 단위 몹 밀도 카운터.
+ * - 몹이 월드에 추가/제거될 때(스폰, 사망, 언로드)만 증감 → getNearbyEntities 스캔 없음
+ * - 몹은 월드에 추가된(스폰/청크 로드) 청크에 카운트됨. 이동은 추적하지 않고 제거 시 같은 칸에서 뺌
+ *   → 돌아다니거나 물에 밀려간 몹은 청크가 언로드/재로드될 때 새 위치로 다시 카운트됨
+ * - 복제/대체/조키 같은 "추가" 스폰만 막고, 바닐라 스폰은 건드리지 않음
+ * - 카운터 슬롯: EntityType.ordinal() + 계열 슬롯(all, skeletons, zombies, piglins)
+ * - 구역별/월드별 몹 수도 여기서 읽음 (SpawnGovernor) → 추가/제거 이벤트는 이 클래스에서만 처리
+ * - 여기서 카운트한 몹만 제거 시 뺌 → Folia에서 시작 전부터 있던 몹이 제거되어도 음수가 되지 않음
+ * - density-caps와 거버너가 둘 다 꺼져 있으면 리스너를 등록하지 않고 카운터도 비움 (apply, 리로드마다 다시 판단)
+ */
+public class DensityTracker implements Listener {
+
+    /** 구역 한 변의 청크 수 (8 → 128×128 블록) */
+    static final int REGION_SHIFT = 3;
+    static final int REGION_CHUNKS = 1 << REGION_SHIFT;
+
+    static final int TYPE_COUNT = EntityType.values().length;
+    static final int SLOT_ALL = TYPE_COUNT;
+    static final int SLOT_SKELETONS = TYPE_COUNT + 1;
+    static final int SLOT_ZOMBIES = TYPE_COUNT + 2;
+    static final int SLOT_PIGLINS = TYPE_COUNT + 3;
+    static final int SLOT_COUNT = TYPE_COUNT + 4;
+
+    /** 제한 없음 */
+    static final int NO_CAP = Integer.MAX_VALUE;
+
+    // [type.ordinal()] → 이 타입이 증감시키는 슬롯들
+    private final int[][] slotsByType = new int[TYPE_COUNT][];
+
+    private final Map<UUID, WorldCounters> worlds = new ConcurrentHashMap<>();
+
+    /** 월드 하나의 청크/구역 카운터 (모든 슬롯이 0이 되면 항목 제거) */
+    private static final class WorldCounters {
+        final ConcurrentHashMap<Long, int[]> chunks = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, int[]> regions = new ConcurrentHashMap<>();
+        // 몹 UUID → 카운트된 청크 키 (월드 언로드 시 카운터와 함께 버림)
+        final ConcurrentHashMap<UUID, Long> countedAt = new ConcurrentHashMap<>();
+    }
+
+    private static final WorldCounters EMPTY_COUNTERS = new WorldCounters();
+
+    private final Plugin plugin;
+    // 리스너 등록 여부 (등록 해제 직후 이미 디스패치된 이벤트는 무시)
+    private volatile boolean tracking;
+
+    public DensityTracker(Plugin plugin, ServerCapabilities caps) {
+        this.plugin = plugin;
+        for (EntityType type : EntityType.values()) {
+            int family = caps.isSkeletonFamily(type) ? SLOT_SKELETONS
+                    : caps.isZombieFamily(type) ? SLOT_ZOMBIES
+                    : caps.isPiglinFamily(type) ? SLOT_PIGLINS
+                    : -1;
+            slotsByType[type.ordinal()] = family < 0
+                    ? new int[]{type.ordinal(), SLOT_ALL}
+                    : new int[]{type.ordinal(), SLOT_ALL, family};
+        }
+    }
+
+    /** 설정 키(엔티티 이름 또는 all/skeletons/zombies/piglins) → 슬롯, 모르는 키면 -1 */
+    static int slotForKey(String key) {
+        switch (key.toLowerCase(Locale.ROOT)) {
+            case "all":       return SLOT_ALL;
+            case "skeletons": return SLOT_SKELETONS;
+            case "zombies":   return SLOT_ZOMBIES;
+            case "piglins":   return SLOT_PIGLINS;
+            default:
+                try {
+                    return EntityType.valueOf(key.toUpperCase(Locale.ROOT)).ordinal();
+                } catch (IllegalArgumentException e) {
+                    return -1;
+                }
+        }
+    }
+
+    /**
+     * 스냅샷 설정에 맞춰 추적 시작/정지 (onEnable, reload에서 전역 스레드로 호출).
+     * density-caps 또는 거버너가 켜져 있을 때만 추가/제거 이벤트를 받음
+     */
+    public synchronized void apply(RuleSnapshot rules) {
+        boolean needed = rules.isDensityCapsEnabled() || rules.isGovernorEnabled();
+        if (needed == tracking) return;
+        tracking = needed;
+        if (needed) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            seed();
+        } else {
+            HandlerList.unregisterAll(this);
+            worlds.clear();
+        }
+    }
+
+    /** Paper: 이미 로드된 몹으로 카운터 채움 (Folia는 다른 리전 엔티티를 읽을 수 없으므로 0부터) */
+    private void seed() {
+        if (FoliaCompat.isFolia()) return;
+        for (World w : Bukkit.getWorlds()) {
+            for (Mob mob : w.getEntitiesByClass(Mob.class)) {
+                track(w, mob);
+            }
+        }
+    }
+
+    /**
+     * loc 위치에 type 하나를 더 스폰해도 청크/구역 제한 안쪽인지.
+     * 카운터는 락 없이 읽으므로 경계에서 한두 마리 차이는 허용.
+     */
+    public boolean allows(RuleSnapshot rules, Location loc, EntityType type) {
+        if (!rules.isDensityCapsEnabled()) return true;
+        WorldCounters wc = worlds.get(loc.getWorld().getUID());
+        if (wc == null) wc = EMPTY_COUNTERS;
+
+        long chunk = chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        int[] slots = slotsByType[type.ordinal()];
+        int[] chunkCounts = wc.chunks.get(chunk);
+        int[] regionCounts = wc.regions.get(regionKey(chunk));
+        for (int slot : slots) {
+            if (count(chunkCounts, slot) >= rules.getChunkDensityCap(slot)) return false;
+            if (count(regionCounts, slot) >= rules.getRegionDensityCap(slot)) return false;
+        }
+        return true;
+    }
+
+    /** world에서 카운트 중인 몹 수 */
+    public long mobCount(World world) {
+        WorldCounters wc = worlds.get(world.getUID());
+        return wc == null ? 0L : wc.countedAt.size();
+    }
+
+    /** loc가 속한 구역(REGION_CHUNKS × REGION_CHUNKS 청크)에서 카운트 중인 몹 수 */
+    public int regionMobCount(Location loc) {
+        WorldCounters wc = worlds.get(loc.getWorld().getUID());
+        if (wc == null) return 0;
+        return count(wc.regions.get(regionKey(chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4))), SLOT_ALL);
+    }
+
+    /** world에서 몹이 가장 많은 구역의 몹 수 (표시용, 구역 수만큼 순회) */
+    public int busiestRegionMobCount(World world) {
+        WorldCounters wc = worlds.get(world.getUID());
+        if (wc == null) return 0;
+        int max = 0;
+        for (int[] counts : wc.regions.values()) {
+            max = Math.max(max, counts[SLOT_ALL]);
+        }
+        return max;
+    }
+
+    private static int count(int[] counts, int slot) {
+        return counts == null ? 0 : counts[slot];
+    }
+
+    // ===== 카운터 갱신 =====
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAdd(EntityAddToWorldEvent event) {
+        if (tracking && event.getEntity() instanceof Mob mob) {
+            track(event.getWorld(), mob);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemove(EntityRemoveFromWorldEvent event) {
+        Entity entity = event.getEntity();
+        if (!(entity instanceof Mob)) return;
+        WorldCounters wc = worlds.get(event.getWorld().getUID());
+        if (wc == null) return;
+        Long chunk = wc.countedAt.remove(entity.getUniqueId());
+        if (chunk == null) return;
+        int[] slots = slotsByType[entity.getType().ordinal()];
+        update(wc.chunks, chunk, slots, -1);
+        update(wc.regions, regionKey(chunk), slots, -1);
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    private void track(World world, Mob mob) {
+        Location loc = mob.getLocation();
+        long chunk = chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        WorldCounters wc = worlds.computeIfAbsent(world.getUID(), id -> new WorldCounters());
+        if (wc.countedAt.putIfAbsent(mob.getUniqueId(), chunk) != null) return;
+        int[] slots = slotsByType[mob.getType().ordinal()];
+        update(wc.chunks, chunk, slots, 1);
+        update(wc.regions, regionKey(chunk), slots, 1);
+    }
+
+    private static void update(ConcurrentHashMap<Long, int[]> map, long key, int[] slots, int delta) {
+        map.compute(key, (k, counts) -> {
+            if (counts == null) {
+                if (delta < 0) return null;
+                counts = new int[SLOT_COUNT];
+            }
+            for (int slot : slots) {
+                counts[slot] = Math.max(0, counts[slot] + delta);
+            }
+            return counts[SLOT_ALL] > 0 ? counts : null;
+        });
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long regionKey(long chunkKey) {
+        int rx = ((int) (chunkKey >> 32)) >> REGION_SHIFT;
+        int rz = ((int) chunkKey) >> REGION_SHIFT;
+        return chunkKey(rx, rz);
+    }
+}
\ No newline at end of file
@@ -16,8 +16,18 @@ import java.util.List;
 public class DynamicMob extends JavaPlugin implements CommandExecutor, TabCompleter {
 
     private ConfigManager configManager;
+    private SpawnGovernor spawnGovernor;
+    private Metrics metrics;
+    private PrometheusExporter prometheusExporter;
+    private ConfigWatcher configWatcher;
+    private EquipmentManager equipmentManager;
+    private SpawnerCache spawnerCache;
+    private DensityTracker densityTracker;
     private static boolean debugMode = false;
 
+    // /dm reload 실패 시 채팅에 보여줄 최대 오류 수 (전체는 콘솔)
+    private static final int MAX_REPORTED_ERRORS = 8;
+
     public static boolean isDebugMode() {
         return debugMode;
     }
@@ -28,6 +38,7 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
         getLogger().info("======================================");
         getLogger().info("  DynamicMob " + getPluginMeta().getVersion() + " starting...");
         getLogger().info("  Paper/Folia ready • Commands: /dm reload");
+        getLogger().info("  Scheduler: " + (FoliaCompat.isFolia() ? "Folia (entity scheduler)" : "Paper (Bukkit scheduler)"));
         getLogger().info("======================================");
 
         // 기본 config 생성/로드
@@ -35,12 +46,27 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
 
         // 매니저 구성
         this.configManager = new ConfigManager(this);
-        this.configManager.reload();
-        EquipmentManager equipmentManager = new EquipmentManager(this, configManager);
+        this.metrics = new Metrics(configManager);
+        metrics.recordReload(configManager.reload().getNanos());
+        configManager.snapshot().resolveWorlds(getServer().getWorlds());
+        ServerCapabilities capabilities = ServerCapabilities.probe(getLogger());
+        ItemTemplates itemTemplates = new ItemTemplates();
+        this.equipmentManager = new EquipmentManager(configManager, itemTemplates, capabilities);
+        EquipmentQueue equipmentQueue = new EquipmentQueue(this, configManager, equipmentManager, metrics);
+        this.densityTracker = new DensityTracker(this, capabilities);
+        this.spawnGovernor = new SpawnGovernor(this, configManager, densityTracker);
+        this.spawnerCache = new SpawnerCache(configManager);
+        this.prometheusExporter = new PrometheusExporter(this, metrics, spawnGovernor);
+        prometheusExporter.apply(configManager.snapshot());
+        this.configWatcher = new ConfigWatcher(this, () -> reloadRules(getServer().getConsoleSender()));
+        configWatcher.apply(configManager.snapshot());
 
         // 리스너 등록
-        SpawnListener spawnListener = new SpawnListener(this, configManager, equipmentManager);
+        SpawnListener spawnListener = new SpawnListener(this, configManager, equipmentQueue, itemTemplates, capabilities, spawnGovernor, densityTracker, spawnerCache, metrics);
         getServer().getPluginManager().registerEvents(spawnListener, this);
+        getServer().getPluginManager().registerEvents(spawnerCache, this);
+        densityTracker.apply(configManager.snapshot());
+        spawnGovernor.start();
 
         // 명령 등록
         registerDmCommand();
@@ -51,6 +77,10 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
     @Override
     public void onDisable() {
         HandlerList.unregisterAll(this);
+        if (prometheusExporter != null) prometheusExporter.stop();
+        if (configWatcher != null) configWatcher.stop();
+        if (equipmentManager != null) equipmentManager.shutdown();
+        if (configManager != null) configManager.shutdown();
         getLogger().info("======================================");
         getLogger().info("  DynamicMob " + getPluginMeta().getVersion() + " stopped.");
         getLogger().info("======================================");
@@ -91,9 +121,37 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
                 sender.sendMessage(Component.text("You don't have permission!", NamedTextColor.RED));
                 return true;
             }
-            reloadConfig();
-            this.configManager.reload();
-            sender.sendMessage(Component.text("[DynamicMob] Configuration reloaded!", NamedTextColor.GREEN));
+            reloadRules(sender);
+            return true;
+        }
+
+        if ((args.length == 1 || args.length == 2) && args[0].equalsIgnoreCase("stats")) {
+            if (!sender.hasPermission("dynamicmob.reload")) {
+                sender.sendMessage(Component.text("You don't have permission!", NamedTextColor.RED));
+                return true;
+            }
+            if (args.length == 2) {
+                if (!args[1].equalsIgnoreCase("reset")) {
+                    sender.sendMessage(Component.text("Usage: /dm stats [reset]", NamedTextColor.YELLOW));
+                    return true;
+                }
+                metrics.reset();
+                sender.sendMessage(Component.text("[DynamicMob] Stats reset.", NamedTextColor.YELLOW));
+                return true;
+            }
+            sender.sendMessage(Component.text("[DynamicMob] Stats", NamedTextColor.GREEN));
+            for (String line : metrics.report()) {
+                sender.sendMessage(Component.text(line, NamedTextColor.GRAY));
+            }
+            return true;
+        }
+
+        if (args.length == 1 && args[0].equalsIgnoreCase("governor")) {
+            if (!sender.hasPermission("dynamicmob.reload")) {
+                sender.sendMessage(Component.text("You don't have permission!", NamedTextColor.RED));
+                return true;
+            }
+            sendGovernorStatus(sender);
             return true;
         }
 
@@ -114,10 +172,75 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
             }
         }
 
-        sender.sendMessage(Component.text("Usage: /dm reload | /dm debug <on|off>", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("Usage: /dm reload | /dm stats [reset] | /dm governor | /dm debug <on|off>", NamedTextColor.YELLOW));
         return true;
     }
 
+    /**
+     * 규칙 다시 읽기 (소요 시간은 /dm stats에 기록).
+     * 파싱/컴파일은 백그라운드에서 하고, 결과 보고는 전역 스레드로 돌아와서 함.
+     * 오류가 하나라도 있으면 이전 규칙을 그대로 유지.
+     */
+    private void reloadRules(CommandSender sender) {
+        sender.sendMessage(Component.text("[DynamicMob] Reloading configuration...", NamedTextColor.GRAY));
+        configManager.reloadAsync().whenComplete((result, failure) -> FoliaCompat.runGlobal(this, () -> {
+            if (failure != null) {
+                getLogger().warning("Reload failed: " + failure);
+                sender.sendMessage(Component.text("[DynamicMob] Reload failed: " + failure.getMessage()
+                        + " (previous rules kept)", NamedTextColor.RED));
+                return;
+            }
+            if (result.isPublished()) {
+                metrics.recordReload(result.getNanos());
+                configManager.snapshot().resolveWorlds(getServer().getWorlds());
+                spawnerCache.clear();
+                densityTracker.apply(configManager.snapshot());
+                prometheusExporter.apply(configManager.snapshot());
+                configWatcher.apply(configManager.snapshot());
+                List<String> changed = result.getChanged();
+                sender.sendMessage(Component.text(String.format("[DynamicMob] Configuration reloaded! (%.1f ms, changed: %s)",
+                        result.getNanos() / 1_000_000.0, changed.isEmpty() ? "none" : String.join(", ", changed)),
+                        NamedTextColor.GREEN));
+                return;
+            }
+            List<String> errors = result.getErrors();
+            for (String error : errors) getLogger().warning("Reload: " + error);
+            sender.sendMessage(Component.text("[DynamicMob] Reload rejected: " + errors.size()
+                    + " error(s), previous rules kept.", NamedTextColor.RED));
+            for (int i = 0; i < Math.min(errors.size(), MAX_REPORTED_ERRORS); i++) {
+                sender.sendMessage(Component.text("  " + errors.get(i), NamedTextColor.GRAY));
+            }
+            if (errors.size() > MAX_REPORTED_ERRORS) {
+                sender.sendMessage(Component.text("  ... " + (errors.size() - MAX_REPORTED_ERRORS)
+                        + " more in console", NamedTextColor.GRAY));
+            }
+        }));
+    }
+
+    private void sendGovernorStatus(CommandSender sender) {
+        RuleSnapshot rules = configManager.snapshot();
+        double mspt = spawnGovernor.getLastMspt();
+        sender.sendMessage(Component.text("[DynamicMob] Spawn governor: "
+                + (rules.isGovernorEnabled() ? "enabled" : "disabled")
+                + " • multiplier " + rules.getMobSpawnMultiplier(), NamedTextColor.GREEN));
+        sender.sendMessage(Component.text("  MSPT: " + (mspt < 0 ? "n/a" : String.format("%.1f", mspt))
+                + (spawnGovernor.isIntervalFallback() ? " (estimated from tick interval)" : "")
+                + " • soft " + rules.getGovernorMsptSoft() + " / hard " + rules.getGovernorMsptHard()
+                + String.format(" • factor %.2f", spawnGovernor.getMsptFactor()), NamedTextColor.GRAY));
+        sender.sendMessage(Component.text("  Mobs per region (128x128): soft " + rules.getGovernorMobsSoft()
+                + " / hard " + rules.getGovernorMobsHard(), NamedTextColor.GRAY));
+        for (java.util.Map.Entry<String, double[]> e : spawnGovernor.describe().entrySet()) {
+            double mobs = e.getValue()[0];
+            double busiest = e.getValue()[1];
+            double factor = e.getValue()[2];
+            double effective = rules.getMobSpawnMultiplier() <= 1.0
+                    ? rules.getMobSpawnMultiplier()
+                    : 1.0 + (rules.getMobSpawnMultiplier() - 1.0) * factor;
+            sender.sendMessage(Component.text(String.format("  %s: mobs %d • busiest region %d • factor %.2f • effective x%.2f",
+                    e.getKey(), (long) mobs, (long) busiest, factor, effective), NamedTextColor.GRAY));
+        }
+    }
+
     @Override
     public @NotNull List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String @NotNull [] args) {
         if (!command.getName().equalsIgnoreCase("dm")) return Collections.emptyList();
@@ -125,6 +248,8 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
         if (args.length == 1) {
             List<String> completions = new java.util.ArrayList<>();
             completions.add("reload");
+            completions.add("stats");
+            completions.add("governor");
             if (sender.isOp()) {
                 completions.add("debug");
             }
@@ -135,6 +260,10 @@ public class DynamicMob extends JavaPlugin implements CommandExecutor, TabComple
             return java.util.Arrays.asList("on", "off");
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("stats")) {
+            return Collections.singletonList("reset");
+        }
+
         return Collections.emptyList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package me.linhyeok;
+
+import org.bukkit.enchantments.Enchantment;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 인챈트 후보 표 하나 (무기 종류/방어구 슬롯별).
+ * - 후보/가중치/최소·최대 레벨을 나란한 배열로 보관 (불변, 스레드 간 공유)
+ * - 뽑기: 1 ~ 후보 수 중 무작위 개수를 스레드별 인덱스 배열에서 부분 Fisher–Yates로 골라 중복 없이 선택
+ *   → Map/List 생성이나 전체 셔플 없이 뽑은 개수만큼만 난수 사용
+ * - 가중치가 모두 같으면 균등 선택, 다르면 남은 후보 중 가중치 비례 선택
+ * - config의 enchant-pools가 엔티티/종류별로 덮어씀 (ConfigManager에서 컴파일)
+ */
+final class EnchantTable {
+    // 표 종류 (EquipmentProfile.enchants 인덱스, KIND_KEYS의 설정 키 순서)
+    static final int WEAPON_BOW = 0;
+    static final int WEAPON_MELEE = 1;
+    static final int WEAPON_SPEAR = 2;
+    static final int ARMOR_HEAD = 3;
+    static final int ARMOR_CHEST = 4;
+    static final int ARMOR_LEGS = 5;
+    static final int ARMOR_FEET = 6;
+    static final int KINDS = 7;
+    static final String[] KIND_KEYS = {"bow", "melee", "spear", "helmet", "chestplate", "leggings", "boots"};
+
+    // 기본 표 (엔티티별 표가 없을 때 사용)
+    static final EnchantTable BOW = of(
+            Enchantment.POWER, 5,
+            Enchantment.PUNCH, 2,
+            Enchantment.FLAME, 1,
+            Enchantment.INFINITY, 1);
+    static final EnchantTable MELEE = of(
+            Enchantment.SHARPNESS, 5,
+            Enchantment.SMITE, 5,
+            Enchantment.FIRE_ASPECT, 2,
+            Enchantment.LOOTING, 3);
+    static final EnchantTable SPEAR = of(
+            Enchantment.SHARPNESS, 5,
+            Enchantment.IMPALING, 5,
+            Enchantment.LOOTING, 3);
+    static final EnchantTable ARMOR = of(
+            Enchantment.PROTECTION, 4,
+            Enchantment.PROJECTILE_PROTECTION, 4,
+            Enchantment.BLAST_PROTECTION, 4,
+            Enchantment.THORNS, 3);
+    static final EnchantTable BOOTS = of(
+            Enchantment.PROTECTION, 4,
+            Enchantment.PROJECTILE_PROTECTION, 4,
+            Enchantment.BLAST_PROTECTION, 4,
+            Enchantment.THORNS, 3,
+            Enchantment.FEATHER_FALLING, 4);
+
+    /** 종류별 기본 표 */
+    static EnchantTable defaults(int kind) {
+        return switch (kind) {
+            case WEAPON_BOW -> BOW;
+            case WEAPON_MELEE -> MELEE;
+            case WEAPON_SPEAR -> SPEAR;
+            case ARMOR_FEET -> BOOTS;
+            default -> ARMOR;
+        };
+    }
+
+    // 스레드별 인덱스 배열 (뽑을 때마다 0..n-1로 되돌려 재사용)
+    private static final ThreadLocal<int[]> ORDER = ThreadLocal.withInitial(() -> new int[16]);
+
+    private final Enchantment[] enchantments;
+    private final double[] weights; // 모두 같으면 null (균등)
+    private final int[] minLevels;
+    private final int[] maxLevels;
+
+    EnchantTable(Enchantment[] enchantments, double[] weights, int[] minLevels, int[] maxLevels) {
+        this.enchantments = enchantments;
+        this.weights = uniform(weights) ? null : weights;
+        this.minLevels = minLevels;
+        this.maxLevels = maxLevels;
+    }
+
+    private static boolean uniform(double[] weights) {
+        for (double w : weights) if (w != weights[0]) return false;
+        return true;
+    }
+
+    /** (인챈트, 최대 레벨) 쌍 나열 */
+    private static EnchantTable of(Object... pairs) {
+        int n = pairs.length / 2;
+        Enchantment[] enchantments = new Enchantment[n];
+        double[] weights = new double[n];
+        int[] minLevels = new int[n];
+        int[] maxLevels = new int[n];
+        for (int i = 0; i < n; i++) {
+            enchantments[i] = (Enchantment) pairs[2 * i];
+            weights[i] = 1.0;
+            minLevels[i] = 1;
+            maxLevels[i] = (Integer) pairs[2 * i + 1];
+        }
+        return new EnchantTable(enchantments, weights, minLevels, maxLevels);
+    }
+
+    // SnapshotCache 직렬화용
+    int size()                        { return enchantments.length; }
+    Enchantment enchantment(int i)    { return enchantments[i]; }
+    double weight(int i)              { return weights != null ? weights[i] : 1.0; }
+    int minLevel(int i)               { return minLevels[i]; }
+    int maxLevel(int i)               { return maxLevels[i]; }
+
+    /** 후보 중 1개 이상을 중복 없이 골라 각각 최소 ~ 최대 레벨로 slot에 추가 */
+    void roll(Loadout out, int slot) {
+        int n = enchantments.length;
+        if (n == 0) return;
+        RandomGenerator random = Rng.current();
+        int num = 1 + random.nextInt(n);
+
+        int[] order = ORDER.get();
+        if (order.length < n) {
+            order = new int[n];
+            ORDER.set(order);
+        }
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        for (int i = 0; i < num; i++) {
+            int j = weights == null ? i + random.nextInt(n - i) : weightedIndex(order, i, n, random);
+            int pick = order[j];
+            order[j] = order[i];
+            order[i] = pick;
+            int min = minLevels[pick];
+            out.addEnchant(slot, enchantments[pick], min + random.nextInt(maxLevels[pick] - min + 1));
+        }
+    }
+
+    /** order[from..n) 중 가중치 비례로 하나 (order 내 위치) */
+    private int weightedIndex(int[] order, int from, int n, RandomGenerator random) {
+        double total = 0;
+        for (int k = from; k < n; k++) total += weights[order[k]];
+        double r = random.nextDouble() * total;
+        for (int k = from; k < n - 1; k++) {
+            r -= weights[order[k]];
+            if (r < 0) return k;
+        }
+        return n - 1;
+    }
+}
\ No newline at end of file
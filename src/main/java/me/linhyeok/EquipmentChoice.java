@@ -0,0 +1,29 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+
+/**
+ * 장비 확률 테이블의 결과 하나.
+ * - 일반 아이템(material) 또는 엔티티 special의 TRIDENT_CHANNELING 토큰
+ * - 스냅샷 컴파일 시 한 번만 만들어지고 뽑기마다 재사용됨
+ */
+public final class EquipmentChoice {
+    private final Material material;
+    private final boolean channelingTrident;
+
+    private EquipmentChoice(Material material, boolean channelingTrident) {
+        this.material = material;
+        this.channelingTrident = channelingTrident;
+    }
+
+    static EquipmentChoice of(Material material) {
+        return new EquipmentChoice(material, false);
+    }
+
+    static EquipmentChoice channelingTrident() {
+        return new EquipmentChoice(Material.TRIDENT, true);
+    }
+
+    public Material getMaterial() { return material; }
+    public boolean isChannelingTrident() { return channelingTrident; }
+}
\ No newline at end of file
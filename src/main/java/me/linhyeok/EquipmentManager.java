@@ -1,29 +1,57 @@
 package me.linhyeok;
 
 import org.bukkit.Material;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.*;
 import org.bukkit.inventory.EntityEquipment;
-import org.bukkit.inventory.EquipmentSlot;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.Damageable;
-import org.bukkit.plugin.Plugin;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class EquipmentManager {
-    private final Plugin plugin;
     private final ConfigManager cfg;
-    private final Random random = new Random();
+    private final ItemTemplates templates;
+    private final ServerCapabilities caps;
+    // LoadoutPool 채우기 전용 (리전 스레드는 꺼내기만 함)
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "DynamicMob-loadouts");
+        t.setDaemon(true);
+        return t;
+    });
+    // 스포너 하나가 들고 있는 장비 수 (한 번에 최대 4마리 스폰 → 두 번분)
+    static final int SPAWNER_BATCH = 8;
+    // 현재 스냅샷의 풀 (스냅샷 → 타입별 LoadoutPool, RuleSnapshot은 equals를 안 쓰므로 identity 키)
+    private volatile Pools pools = new Pools(null);
+
+    private static final class Pools {
+        final RuleSnapshot base;
+        final Map<RuleSnapshot, AtomicReferenceArray<LoadoutPool>> byRules = new ConcurrentHashMap<>();
+
+        Pools(RuleSnapshot base) {
+            this.base = base;
+        }
+    }
 
-    public EquipmentManager(Plugin plugin, ConfigManager cfg) {
-        this.plugin = plugin;
+    public EquipmentManager(ConfigManager cfg, ItemTemplates templates, ServerCapabilities caps) {
         this.cfg = cfg;
+        this.templates = templates;
+        this.caps = caps;
     }
 
     /** 엔티티에 커스텀 장비/블록헬멧/특수효과/인챈트 적용 */
     public void applyAll(LivingEntity mob) {
-        if (cfg.getDisabledEntities().contains(mob.getType())) return;
+        applyAll(cfg.snapshot().profileFor(mob), mob, null);
+    }
+
+    /**
+     * rules(스폰 때 해석해 둔 스냅샷)로 적용.
+     * spawnerBatch가 있으면 (스포너 빠른 경로) 공용 풀 대신 그 스포너 전용 묶음에서 꺼냄
+     */
+    void applyAll(RuleSnapshot rules, LivingEntity mob, LoadoutPool spawnerBatch) {
+        EquipmentProfile profile = rules.getEquipmentProfile(mob.getType());
+        if (profile.isDisabled()) return;
 
         EntityEquipment eq = mob.getEquipment();
         if (eq == null) return;
@@ -33,389 +61,233 @@ public class EquipmentManager {
             return;
         }
 
-        // 기본 장비 확률 테이블
-        Map<String, Map<Material, Double>> chances = cfg.getSpawnChances().getOrDefault(mob.getType(), Collections.emptyMap());
-        Map<String, Double> specials = cfg.getSpecialChances().getOrDefault(mob.getType(), Collections.emptyMap());
+        // 미리 굴려 둔 장비 (풀 꺼짐/시드 모드면 여기서 굴림 → 같은 시드면 같은 결과)
+        int poolSize = rules.getLoadoutPoolSize();
+        Loadout loadout;
+        if (poolSize <= 0 || Rng.isSeeded()) {
+            loadout = roll(rules, mob.getType());
+        } else if (spawnerBatch != null) {
+            loadout = spawnerBatch.take(this, refiller, Math.min(poolSize, SPAWNER_BATCH));
+        } else {
+            loadout = pool(rules, mob.getType()).take(this, refiller, poolSize);
+        }
+
+        for (int i = 0; i < Loadout.SLOTS; i++) {
+            eq.setItem(EquipmentProfile.ROLLED_SLOTS[i], loadout.item(i, templates));
+        }
+        if (loadout.isPowered() && mob instanceof Creeper creeper) {
+            creeper.setPowered(true);
+        }
+    }
+
+    /** onDisable에서 호출 */
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
 
-        eq.setItemInMainHand(getRandomItem(chances.get("weapon"), specials));
-        eq.setHelmet(getRandomItem(chances.get("helmet"), null));
-        eq.setChestplate(getRandomItem(chances.get("chestplate"), null));
-        eq.setLeggings(getRandomItem(chances.get("leggings"), null));
-        eq.setBoots(getRandomItem(chances.get("boots"), null));
+    /** rules(기본 또는 프로필 스냅샷)와 타입의 풀. 새 스냅샷이 게시되면 이전 풀은 통째로 버림 */
+    private LoadoutPool pool(RuleSnapshot rules, EntityType type) {
+        RuleSnapshot base = cfg.snapshot();
+        Pools p = pools;
+        if (p.base != base) {
+            p = new Pools(base);
+            pools = p;
+        }
+        AtomicReferenceArray<LoadoutPool> byType = p.byRules.computeIfAbsent(rules,
+                r -> new AtomicReferenceArray<>(EntityType.values().length));
+        LoadoutPool pool = byType.get(type.ordinal());
+        if (pool == null) {
+            byType.compareAndSet(type.ordinal(), null, new LoadoutPool(rules, type));
+            pool = byType.get(type.ordinal());
+        }
+        return pool;
+    }
+
+    /**
+     * 몹 한 마리분의 장비를 굴림 (규칙과 엔티티 타입만 읽으므로 어느 스레드에서든 호출 가능).
+     * 순서: 기본 장비 → 블록 헬멧 → 손 아이템 특수 확률 → 충전 크리퍼 → 인챈트
+     */
+    Loadout roll(RuleSnapshot rules, EntityType type) {
+        EquipmentProfile profile = rules.getEquipmentProfile(type);
+        Loadout out = new Loadout();
+
+        // 기본 장비 확률 테이블
+        for (int i = 0; i < Loadout.SLOTS; i++) {
+            rollItem(out, i, profile.table(EquipmentProfile.ROLLED_SLOTS[i]));
+        }
 
         // 블록 헬멧 (일반 + 스켈레톤 계열 전용) - 헬멧이 비어있을 때만 적용
-        if (cfg.isBlockHelmetEnabled()) {
-            applyBlockHelmetIfEmpty(mob);
+        if (rules.isBlockHelmetEnabled()) {
+            rollBlockHelmetIfEmpty(rules, type, out);
         }
 
         // 스켈레톤 뼈다귀 손(확률)
-        if (mob instanceof Skeleton && random.nextDouble() < cfg.getBoneInHandChance()) {
-            eq.setItemInMainHand(new ItemStack(Material.BONE));
+        if (is(type, Skeleton.class) && Rng.nextDouble() < rules.getBoneInHandChance()) {
+            out.set(Loadout.HAND, Loadout.PLAIN, Material.BONE, 0);
         }
 
         // 1.21.11+ 좀비 Spear(창) 확률
-        if (mob instanceof Zombie && mob.getType() == EntityType.ZOMBIE) {
-            double spearChance = cfg.getZombieSpearChance();
-            if (spearChance > 0 && random.nextDouble() < spearChance) {
-                try {
-                    Material spear = Material.valueOf("SPEAR");
-                    eq.setItemInMainHand(new ItemStack(spear));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().fine("SPEAR material not available (requires 1.21.11+)");
-                }
+        if (type == EntityType.ZOMBIE && caps.getSpear() != null) {
+            double spearChance = rules.getZombieSpearChance();
+            if (spearChance > 0 && Rng.nextDouble() < spearChance) {
+                out.set(Loadout.HAND, Loadout.PLAIN, caps.getSpear(), 0);
             }
         }
 
         // 1.21.11+ 허스크 Spear(창) 확률
-        if (mob instanceof Husk) {
-            double spearChance = cfg.getHuskSpearChance();
-            if (spearChance > 0 && random.nextDouble() < spearChance) {
-                try {
-                    Material spear = Material.valueOf("SPEAR");
-                    eq.setItemInMainHand(new ItemStack(spear));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().fine("SPEAR material not available (requires 1.21.11+)");
-                }
+        if (is(type, Husk.class) && caps.getSpear() != null) {
+            double spearChance = rules.getHuskSpearChance();
+            if (spearChance > 0 && Rng.nextDouble() < spearChance) {
+                out.set(Loadout.HAND, Loadout.PLAIN, caps.getSpear(), 0);
             }
         }
 
         // 1.21.11+ 피글린 금창(Golden Spear) 확률
-        if (mob instanceof Piglin) {
-            double goldSpearChance = cfg.getPiglinGoldSpearChance();
-            if (goldSpearChance > 0 && random.nextDouble() < goldSpearChance) {
-                try {
-                    Material goldSpear = Material.valueOf("GOLDEN_SPEAR");
-                    eq.setItemInMainHand(new ItemStack(goldSpear));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().fine("GOLDEN_SPEAR material not available (requires 1.21.11+)");
-                }
+        if (is(type, Piglin.class) && caps.getGoldenSpear() != null) {
+            double goldSpearChance = rules.getPiglinGoldSpearChance();
+            if (goldSpearChance > 0 && Rng.nextDouble() < goldSpearChance) {
+                out.set(Loadout.HAND, Loadout.PLAIN, caps.getGoldenSpear(), 0);
             }
         }
 
         // 1.21.11+ 좀비화 피글린 금창(Golden Spear) 확률
-        if (mob.getType() == EntityType.ZOMBIFIED_PIGLIN) {
-            double goldSpearChance = cfg.getZombifiedPiglinGoldSpearChance();
-            if (goldSpearChance > 0 && random.nextDouble() < goldSpearChance) {
-                try {
-                    Material goldSpear = Material.valueOf("GOLDEN_SPEAR");
-                    eq.setItemInMainHand(new ItemStack(goldSpear));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().fine("GOLDEN_SPEAR material not available (requires 1.21.11+)");
-                }
+        if (type == EntityType.ZOMBIFIED_PIGLIN && caps.getGoldenSpear() != null) {
+            double goldSpearChance = rules.getZombifiedPiglinGoldSpearChance();
+            if (goldSpearChance > 0 && Rng.nextDouble() < goldSpearChance) {
+                out.set(Loadout.HAND, Loadout.PLAIN, caps.getGoldenSpear(), 0);
             }
         }
 
-        // 우민(Vindicator) 손 아이템 교체 - 도끼 종류만 허용
+        // 우민(Vindicator) 손 아이템 교체 - 도끼 종류만 허용 (ConfigManager에서 검사, 아니면 null)
         // 대체 스폰으로 생성된 경우에도 커스텀 장비 적용
-        if (mob instanceof Vindicator) {
-            Material vindicatorItem = cfg.getVindicatorHandItem();
-            if (vindicatorItem != null && isAxe(vindicatorItem)) {
-                eq.setItemInMainHand(new ItemStack(vindicatorItem));
-            } else if (vindicatorItem != null) {
-                // 도끼가 아닌 아이템이 설정된 경우 경고
-                plugin.getLogger().warning("Vindicator hand item must be an axe type. Invalid item: " + vindicatorItem);
+        if (is(type, Vindicator.class)) {
+            Material vindicatorItem = rules.getVindicatorHandItem();
+            if (vindicatorItem != null) {
+                out.set(Loadout.HAND, Loadout.PLAIN, vindicatorItem, 0);
             }
         }
 
-        // 환술사(Illusioner) 손 아이템 교체 - 활만 허용
-        if (mob instanceof Illusioner) {
-            Material illusionerItem = cfg.getIllusionerHandItem();
-            if (illusionerItem == Material.BOW) {
-                ItemStack bow = new ItemStack(Material.BOW);
-
+        // 환술사(Illusioner) 손 아이템 교체 - 활만 허용 (ConfigManager에서 검사, 아니면 null)
+        if (is(type, Illusioner.class)) {
+            if (rules.getIllusionerHandItem() == Material.BOW) {
                 // 활 인챈트 확률 적용
-                if (cfg.getIllusionerFlameChance() > 0 && random.nextDouble() < cfg.getIllusionerFlameChance()) {
-                    bow.addUnsafeEnchantment(Enchantment.FLAME, 1);
-                }
-
-                eq.setItemInMainHand(bow);
-            } else if (illusionerItem != null) {
-                // 활이 아닌 아이템이 설정된 경우 경고
-                plugin.getLogger().warning("Illusioner hand item must be BOW. Invalid item: " + illusionerItem);
+                boolean flame = rules.getIllusionerFlameChance() > 0 && Rng.nextDouble() < rules.getIllusionerFlameChance();
+                out.set(Loadout.HAND, flame ? Loadout.FLAME_BOW : Loadout.PLAIN, Material.BOW, 0);
             }
         }
 
         // 드라운드: 채널링 삼지창 확률
-        if (mob instanceof Drowned && cfg.getDrownedChannelingChance() > 0) {
-            if (random.nextDouble() < cfg.getDrownedChannelingChance()) {
-                ItemStack trident = new ItemStack(Material.TRIDENT);
-                trident.addUnsafeEnchantment(Enchantment.CHANNELING, 1);
-                eq.setItemInMainHand(trident);
+        if (is(type, Drowned.class) && rules.getDrownedChannelingChance() > 0) {
+            if (Rng.nextDouble() < rules.getDrownedChannelingChance()) {
+                out.set(Loadout.HAND, Loadout.CHANNELING_TRIDENT, Material.TRIDENT, 0);
             }
         }
 
         // 충전 크리퍼
-        if (mob instanceof Creeper creeper && cfg.getChargedCreeperChance() > 0) {
-            if (random.nextDouble() < cfg.getChargedCreeperChance()) {
-                creeper.setPowered(true);
+        if (is(type, Creeper.class) && rules.getChargedCreeperChance() > 0) {
+            if (Rng.nextDouble() < rules.getChargedCreeperChance()) {
+                out.setPowered();
             }
         }
 
         // 인챈트 (무기/방어구)
-        applyEnchantments(mob, eq);
+        rollEnchantments(rules, type, profile, out);
+        return out;
     }
 
-    /**
-     * 도끼 타입인지 확인
-     */
-    private boolean isAxe(Material material) {
-        return material == Material.WOODEN_AXE ||
-                material == Material.STONE_AXE ||
-                material == Material.IRON_AXE ||
-                material == Material.GOLDEN_AXE ||
-                material == Material.DIAMOND_AXE ||
-                material == Material.NETHERITE_AXE;
+    /** 엔티티 타입의 API 인터페이스가 kind인지 (instanceof와 같은 판정을 엔티티 없이) */
+    private static boolean is(EntityType type, Class<?> kind) {
+        Class<?> c = type.getEntityClass();
+        return c != null && kind.isAssignableFrom(c);
     }
 
     /**
      * 블록 헬멧 - 헬멧 슬롯이 비어있을 때만 적용
      * 스켈레톤 계열과 좀비 계열에만 적용
      */
-    private void applyBlockHelmetIfEmpty(LivingEntity mob) {
-        EntityEquipment eq = mob.getEquipment();
-        if (eq == null) return;
-
+    private void rollBlockHelmetIfEmpty(RuleSnapshot rules, EntityType type, Loadout out) {
         // 헬멧이 이미 있으면 적용 안함
-        ItemStack currentHelmet = eq.getHelmet();
-        if (currentHelmet != null && currentHelmet.getType() != Material.AIR) {
+        Material currentHelmet = out.material(Loadout.HEAD);
+        if (currentHelmet != null && currentHelmet != Material.AIR) {
             return;
         }
 
-        // PARCHED 타입 지원
-        EntityType parchedType = null;
-        try {
-            parchedType = EntityType.valueOf("PARCHED");
-        } catch (IllegalArgumentException e) {
-            // PARCHED 타입이 없으면 null로 유지
-        }
-
-        boolean isSkeletonFamily = mob.getType() == EntityType.SKELETON
-                || mob.getType() == EntityType.STRAY
-                || mob.getType() == EntityType.WITHER_SKELETON
-                || mob.getType() == EntityType.BOGGED
-                || (parchedType != null && mob.getType() == parchedType);
-
-        boolean isZombieFamily = mob.getType() == EntityType.ZOMBIE
-                || mob.getType() == EntityType.HUSK
-                || mob.getType() == EntityType.DROWNED
-                || mob.getType() == EntityType.ZOMBIE_VILLAGER
-                || mob.getType() == EntityType.ZOMBIFIED_PIGLIN;
+        // 스켈레톤 계열은 PARCHED 포함 (지원 서버에서만)
+        boolean isSkeletonFamily = caps.isSkeletonFamily(type);
+        boolean isZombieFamily = caps.isZombieFamily(type);
 
         // 스켈레톤이나 좀비 계열이 아니면 블록 헬멧 적용 안함
         if (!isSkeletonFamily && !isZombieFamily) {
             return;
         }
 
-        Map<Material, Double> pool = new HashMap<>();
-
-        // 일반 블록 헬멧은 좀비 계열에만 적용
-        if (isZombieFamily) {
-            pool.putAll(cfg.getGeneralBlockHelmetChances());
-        }
-
-        // 스켈레톤 전용 블록 헬멧
-        if (isSkeletonFamily) {
-            pool.putAll(cfg.getGeneralBlockHelmetChances());
-            pool.putAll(cfg.getSkeletonBlockHelmetChances());
-        }
-
-        if (pool.isEmpty()) return;
+        // 좀비 계열은 일반 블록 헬멧, 스켈레톤 계열은 일반 + 스켈레톤 전용 (스냅샷에서 미리 합쳐 둠)
+        RuleSnapshot.BlockHelmets pool = isSkeletonFamily
+                ? rules.getSkeletonBlockHelmets()
+                : rules.getZombieBlockHelmets();
 
         // 첫 성공 확률의 블록을 헬멧으로 장착
-        for (Map.Entry<Material, Double> e : pool.entrySet()) {
-            if (random.nextDouble() < e.getValue()) {
-                eq.setHelmet(new ItemStack(e.getKey()));
+        for (int i = 0; i < pool.size(); i++) {
+            if (Rng.nextDouble() < pool.chance(i)) {
+                out.set(Loadout.HEAD, Loadout.PLAIN, pool.block(i), 0);
                 break;
             }
         }
     }
 
-    private ItemStack getRandomItem(Map<Material, Double> chanceMap, Map<String, Double> specialMap) {
-        if ((chanceMap == null || chanceMap.isEmpty()) && (specialMap == null || specialMap.isEmpty())) return null;
-
-        double roll = random.nextDouble(), cumulative = 0.0;
-        if (chanceMap != null && !chanceMap.isEmpty()) {
-            for (Map.Entry<Material, Double> entry : chanceMap.entrySet()) {
-                cumulative += entry.getValue();
-                if (roll < cumulative) {
-                    ItemStack item = new ItemStack(entry.getKey());
-                    // 내구도 랜덤
-                    if (item.getItemMeta() instanceof Damageable dmg) {
-                        int max = item.getType().getMaxDurability();
-                        if (max > 0) {
-                            dmg.setDamage(random.nextInt(Math.max(1, max / 3)));
-                            item.setItemMeta(dmg);
-                        }
-                    }
-                    return item;
-                }
-            }
+    private void rollItem(Loadout out, int slot, WeightedTable<EquipmentChoice> table) {
+        EquipmentChoice choice = table != null ? table.pick(Rng.nextDouble()) : null;
+        if (choice == null) {
+            out.clear(slot);
+        } else if (choice.isChannelingTrident()) {
+            out.set(slot, Loadout.CHANNELING_TRIDENT, Material.TRIDENT, 0);
+        } else {
+            // 내구도 랜덤 (적용할 때 미리 만든 내구도 구간 템플릿 중 하나를 복제)
+            out.set(slot, Loadout.DAMAGED, choice.getMaterial(), Rng.nextInt(Integer.MAX_VALUE));
         }
-        if (specialMap != null && !specialMap.isEmpty()) {
-            for (Map.Entry<String, Double> entry : specialMap.entrySet()) {
-                cumulative += entry.getValue();
-                if (roll < cumulative && entry.getKey().equalsIgnoreCase("TRIDENT_CHANNELING")) {
-                    ItemStack trident = new ItemStack(Material.TRIDENT);
-                    trident.addUnsafeEnchantment(Enchantment.CHANNELING, 1);
-                    return trident;
-                }
-            }
-        }
-        return null;
     }
 
-    private void applyEnchantments(LivingEntity mob, EntityEquipment eq) {
-        if (eq == null) return;
-
-        // PARCHED 타입 지원
-        EntityType parchedType = null;
-        try {
-            parchedType = EntityType.valueOf("PARCHED");
-        } catch (IllegalArgumentException e) {
-            // PARCHED 타입이 없으면 null로 유지
-        }
-
-        boolean isSkeleton = mob.getType() == EntityType.SKELETON
-                || mob.getType() == EntityType.STRAY
-                || mob.getType() == EntityType.WITHER_SKELETON
-                || mob.getType() == EntityType.BOGGED
-                || (parchedType != null && mob.getType() == parchedType);
-
-        boolean isZombie = mob.getType() == EntityType.ZOMBIE
-                || mob.getType() == EntityType.HUSK
-                || mob.getType() == EntityType.DROWNED
-                || mob.getType() == EntityType.ZOMBIFIED_PIGLIN
-                || mob.getType() == EntityType.ZOMBIE_VILLAGER;
-
-        boolean isPiglin = mob.getType() == EntityType.PIGLIN
-                || mob.getType() == EntityType.PIGLIN_BRUTE;
+    private void rollEnchantments(RuleSnapshot rules, EntityType type, EquipmentProfile profile, Loadout out) {
+        // 몹 계열 (PARCHED 포함)
+        boolean isSkeleton = caps.isSkeletonFamily(type);
+        boolean isZombie = caps.isZombieFamily(type);
+        boolean isPiglin = caps.isPiglinFamily(type);
 
         boolean targetFamily = isSkeleton || isZombie || isPiglin;
 
         // 무기 인챈트
-        ItemStack main = eq.getItemInMainHand();
-        if (main.getType() != Material.AIR) {
-            boolean isDrownedTrident = (mob.getType() == EntityType.DROWNED) && (main.getType() == Material.TRIDENT);
-
-            // 1.21.11+ SPEAR/GOLDEN_SPEAR 확인
-            boolean isSpear = false;
-            try {
-                Material spearType = Material.valueOf("SPEAR");
-                Material goldSpearType = Material.valueOf("GOLDEN_SPEAR");
-                isSpear = (main.getType() == spearType) || (main.getType() == goldSpearType);
-            } catch (IllegalArgumentException e) {
-                // SPEAR가 없으면 false 유지
-            }
-
-            if (isDrownedTrident || isSpear || Math.random() < cfg.getWeaponEnchantChance()) {
-                if (isSkeleton) {
-                    switch (main.getType()) {
-                        case BOW -> addRandomEnchant(main, Map.of(
-                                Enchantment.POWER, 5,
-                                Enchantment.PUNCH, 2,
-                                Enchantment.FLAME, 1,
-                                Enchantment.INFINITY, 1
-                        ));
-                        case WOODEN_SWORD, STONE_SWORD, IRON_SWORD, GOLDEN_SWORD, DIAMOND_SWORD, NETHERITE_SWORD,
-                             WOODEN_AXE, STONE_AXE, IRON_AXE, GOLDEN_AXE, DIAMOND_AXE, NETHERITE_AXE ->
-                                addRandomEnchant(main, Map.of(
-                                        Enchantment.SHARPNESS, 5,
-                                        Enchantment.SMITE, 5,
-                                        Enchantment.FIRE_ASPECT, 2,
-                                        Enchantment.LOOTING, 3
-                                ));
-                        default -> {
-                            // SPEAR의 경우 별도 인챈트 (1.21.11+)
-                            if (isSpear) {
-                                addRandomEnchant(main, Map.of(
-                                        Enchantment.SHARPNESS, 5,
-                                        Enchantment.IMPALING, 5,
-                                        Enchantment.LOOTING, 3
-                                ));
-                            }
-                        }
-                    }
-                } else if (isZombie || isPiglin) {
-                    switch (main.getType()) {
-                        case WOODEN_SWORD, STONE_SWORD, IRON_SWORD, GOLDEN_SWORD, DIAMOND_SWORD, NETHERITE_SWORD,
-                             WOODEN_AXE, STONE_AXE, IRON_AXE, GOLDEN_AXE, DIAMOND_AXE, NETHERITE_AXE ->
-                                addRandomEnchant(main, Map.of(
-                                        Enchantment.SHARPNESS, 5,
-                                        Enchantment.SMITE, 5,
-                                        Enchantment.FIRE_ASPECT, 2,
-                                        Enchantment.LOOTING, 3
-                                ));
-                        default -> {
-                            // SPEAR의 경우 별도 인챈트 (1.21.11+)
-                            if (isSpear) {
-                                addRandomEnchant(main, Map.of(
-                                        Enchantment.SHARPNESS, 5,
-                                        Enchantment.IMPALING, 5,
-                                        Enchantment.LOOTING, 3
-                                ));
-                            }
-                        }
-                    }
-                }
+        Material main = out.material(Loadout.HAND);
+        if (main != null && main != Material.AIR) {
+            boolean isDrownedTrident = (type == EntityType.DROWNED) && (main == Material.TRIDENT);
+
+            // 무기 분류 (MaterialClass: 검/도끼/활/삼지창/창, 창은 1.21.11+ *_SPEAR 전부)
+            int weaponClass = MaterialClass.of(main);
+            boolean isSpear = weaponClass == MaterialClass.SPEAR;
+
+            if ((isDrownedTrident || isSpear || Rng.nextDouble() < rules.getWeaponEnchantChance()) && targetFamily) {
+                // 활은 스켈레톤 계열만, 검/도끼/창(1.21.11+)은 세 계열 모두
+                int kind = switch (weaponClass) {
+                    case MaterialClass.BOW -> isSkeleton ? EnchantTable.WEAPON_BOW : -1;
+                    case MaterialClass.SWORD, MaterialClass.AXE -> EnchantTable.WEAPON_MELEE;
+                    case MaterialClass.SPEAR -> EnchantTable.WEAPON_SPEAR;
+                    default -> -1;
+                };
+                if (kind >= 0) profile.enchants(kind).roll(out, Loadout.HAND);
             }
         }
 
         // 방어구 인챈트
         if (targetFamily) {
-            enchantArmorPiece(eq.getHelmet(), EquipmentSlot.HEAD);
-            enchantArmorPiece(eq.getChestplate(), EquipmentSlot.CHEST);
-            enchantArmorPiece(eq.getLeggings(), EquipmentSlot.LEGS);
-            enchantArmorPiece(eq.getBoots(), EquipmentSlot.FEET);
-        }
-    }
-
-    private boolean isArmor(ItemStack item, EquipmentSlot slot) {
-        if (item == null || item.getType() == Material.AIR) return false;
-        return switch (slot) {
-            case HEAD -> item.getType().name().endsWith("_HELMET");
-            case CHEST -> item.getType().name().endsWith("_CHESTPLATE");
-            case LEGS -> item.getType().name().endsWith("_LEGGINGS");
-            case FEET -> item.getType().name().endsWith("_BOOTS");
-            default -> false;
-        };
-    }
-
-    private void enchantArmorPiece(ItemStack item, EquipmentSlot slot) {
-        if (item == null || item.getType() == Material.AIR) return;
-        if (!isArmor(item, slot)) return;
-        if (Math.random() >= cfg.getArmorEnchantChance()) return;
-
-        Map<Enchantment, Integer> opts = new HashMap<>();
-        switch (slot) {
-            case HEAD, CHEST, LEGS -> {
-                opts.put(Enchantment.PROTECTION, 4);
-                opts.put(Enchantment.PROJECTILE_PROTECTION, 4);
-                opts.put(Enchantment.BLAST_PROTECTION, 4);
-                opts.put(Enchantment.THORNS, 3);
-            }
-            case FEET -> {
-                opts.put(Enchantment.PROTECTION, 4);
-                opts.put(Enchantment.PROJECTILE_PROTECTION, 4);
-                opts.put(Enchantment.BLAST_PROTECTION, 4);
-                opts.put(Enchantment.THORNS, 3);
-                opts.put(Enchantment.FEATHER_FALLING, 4);
-            }
+            enchantArmorPiece(rules, profile.enchants(EnchantTable.ARMOR_HEAD), out, Loadout.HEAD);
+            enchantArmorPiece(rules, profile.enchants(EnchantTable.ARMOR_CHEST), out, Loadout.CHEST);
+            enchantArmorPiece(rules, profile.enchants(EnchantTable.ARMOR_LEGS), out, Loadout.LEGS);
+            enchantArmorPiece(rules, profile.enchants(EnchantTable.ARMOR_FEET), out, Loadout.FEET);
         }
-        addRandomEnchant(item, opts);
     }
 
-    private void addRandomEnchant(ItemStack item, Map<Enchantment, Integer> enchants) {
-        if (enchants.isEmpty()) return;
-        int num = 1 + random.nextInt(enchants.size());
-        List<Enchantment> list = new ArrayList<>(enchants.keySet());
-        Collections.shuffle(list, random);
-        for (int i = 0; i < num; i++) {
-            Enchantment ench = list.get(i);
-            int maxLvl = enchants.get(ench);
-            int lvl = 1 + random.nextInt(maxLvl);
-            try {
-                item.addUnsafeEnchantment(ench, lvl);
-            } catch (Exception ignored) {}
-        }
+    private void enchantArmorPiece(RuleSnapshot rules, EnchantTable table, Loadout out, int slot) {
+        if (MaterialClass.of(out.material(slot)) != MaterialClass.armorFor(slot)) return;
+        if (Rng.nextDouble() >= rules.getArmorEnchantChance()) return;
+        table.roll(out, slot);
     }
 }
\ No newline at end of file
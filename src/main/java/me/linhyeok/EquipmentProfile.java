@@ -0,0 +1,69 @@
+package me.linhyeok;
+
+import org.bukkit.inventory.EquipmentSlot;
+
+import java.util.Locale;
+
+/**
+ * 엔티티 타입 하나의 컴파일된 장비 계획.
+ * - RuleSnapshot이 EntityType.ordinal() 인덱스 배열로 보관 → 몹 하나당 배열 읽기 한 번
+ * - 슬롯 테이블은 EquipmentSlot.ordinal() 인덱스 (문자열 해시/박싱 없음)
+ * - 인챈트 표는 EnchantTable 종류 인덱스 (엔티티별 표가 없으면 기본 표)
+ */
+public final class EquipmentProfile {
+
+    /** 장비를 굴리는 슬롯과 순서 (weapon, helmet, chestplate, leggings, boots) */
+    static final EquipmentSlot[] ROLLED_SLOTS = {
+            EquipmentSlot.HAND, EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
+    /** spawn-chance에 없는 엔티티용 (모든 슬롯 비움) */
+    static final EquipmentProfile EMPTY = new EquipmentProfile(false, newTables());
+
+    private final boolean disabled;
+    private final WeightedTable<EquipmentChoice>[] tables;
+    private final EnchantTable[] enchants;
+
+    EquipmentProfile(boolean disabled, WeightedTable<EquipmentChoice>[] tables) {
+        this(disabled, tables, new EnchantTable[EnchantTable.KINDS]);
+    }
+
+    /** enchants[kind]가 null이면 그 종류는 기본 표 */
+    EquipmentProfile(boolean disabled, WeightedTable<EquipmentChoice>[] tables, EnchantTable[] enchants) {
+        this.disabled = disabled;
+        this.tables = tables;
+        this.enchants = new EnchantTable[EnchantTable.KINDS];
+        for (int k = 0; k < EnchantTable.KINDS; k++) {
+            this.enchants[k] = enchants[k] != null ? enchants[k] : EnchantTable.defaults(k);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static WeightedTable<EquipmentChoice>[] newTables() {
+        return (WeightedTable<EquipmentChoice>[]) new WeightedTable[EquipmentSlot.values().length];
+    }
+
+    /** config 슬롯 키 → EquipmentSlot (알 수 없으면 null) */
+    static EquipmentSlot slotForKey(String key) {
+        return switch (key.toLowerCase(Locale.ROOT)) {
+            case "weapon" -> EquipmentSlot.HAND;
+            case "helmet" -> EquipmentSlot.HEAD;
+            case "chestplate" -> EquipmentSlot.CHEST;
+            case "leggings" -> EquipmentSlot.LEGS;
+            case "boots" -> EquipmentSlot.FEET;
+            default -> null;
+        };
+    }
+
+    public boolean isDisabled() { return disabled; }
+
+    /** 슬롯의 장비 테이블 (없으면 null) */
+    public WeightedTable<EquipmentChoice> table(EquipmentSlot slot) {
+        return tables[slot.ordinal()];
+    }
+
+    /** 인챈트 표 (EnchantTable.WEAPON_BOW ... ARMOR_FEET) */
+    EnchantTable enchants(int kind) {
+        return enchants[kind];
+    }
+}
\ No newline at end of file
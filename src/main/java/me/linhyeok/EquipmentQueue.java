@@ -0,0 +1,146 @@
+package me.linhyeok;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 스폰 1틱 뒤 장비 적용을 틱 단위로 묶어 처리하는 큐.
+ * - Paper: 월드마다 배치 하나 (메인 스레드에서 처리)
+ * - Folia: 리전 섹션(16x16 청크)마다 배치 하나, 그 섹션을 소유한 리전 스케줄러에서 처리
+ *   (섹션은 항상 한 리전에만 속하므로 한 배치에 다른 리전 엔티티가 섞이지 않음)
+ * - 배치당 예약 작업은 최대 하나, 비면 맵에서 빠짐
+ * - 한 틱에 performance.equipment-per-tick 개까지만 처리하고 나머지는 다음 틱으로 이월
+ * - 그 1틱 사이 섹션 경계를 넘어 다른 리전으로 간 엔티티만 엔티티 스케줄러로 넘김
+ */
+public class EquipmentQueue {
+    // Folia 기본 리전 섹션 크기 (2^4 = 16 청크)
+    private static final int SECTION_SHIFT = 4;
+
+    private final Plugin plugin;
+    private final ConfigManager cfg;
+    private final EquipmentManager equip;
+    private final Metrics metrics;
+
+    private final Map<Key, Batch> batches = new ConcurrentHashMap<>();
+
+    /** 배치 키: 월드 UID + 섹션 좌표 (Paper는 섹션 0,0 하나) */
+    private record Key(UUID world, int sectionX, int sectionZ) {}
+
+    private static final class Batch {
+        final Key key;
+        final World world;
+        // 작업을 예약할 청크 (Folia: 이 섹션 안의 청크 → 섹션을 소유한 리전)
+        final int chunkX;
+        final int chunkZ;
+        final Queue<Job> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        Batch(Key key, World world, int chunkX, int chunkZ) {
+            this.key = key;
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+
+    /** 몹 하나 + 스폰 때 해석한 규칙 + 장비를 꺼낼 스포너 묶음 (없으면 null → 공용 풀) */
+    private static final class Job {
+        final LivingEntity mob;
+        final RuleSnapshot rules;
+        final LoadoutPool batch;
+
+        Job(LivingEntity mob, RuleSnapshot rules, LoadoutPool batch) {
+            this.mob = mob;
+            this.rules = rules;
+            this.batch = batch;
+        }
+    }
+
+    public EquipmentQueue(Plugin plugin, ConfigManager cfg, EquipmentManager equip, Metrics metrics) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.equip = equip;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 다음 틱에 장비 적용 예약. rules는 스폰 때 스케일/대체 판단에 쓴 스냅샷(프로필 포함)으로,
+     * 그 사이 리로드가 있어도 같은 규칙으로 장비를 입힘
+     */
+    public void enqueue(LivingEntity mob, RuleSnapshot rules) {
+        enqueue(mob, rules, null);
+    }
+
+    /** 위와 같고, spawnerBatch(스포너 전용 묶음, null이면 공용 풀)에서 장비를 꺼냄 */
+    void enqueue(LivingEntity mob, RuleSnapshot rules, LoadoutPool spawnerBatch) {
+        Batch batch = batchFor(mob);
+        batch.pending.offer(new Job(mob, rules, spawnerBatch));
+        if (batch.scheduled.compareAndSet(false, true)) {
+            schedule(batch);
+        }
+    }
+
+    private Batch batchFor(LivingEntity mob) {
+        World world = mob.getWorld();
+        if (!FoliaCompat.isFolia()) {
+            return batches.computeIfAbsent(new Key(world.getUID(), 0, 0), k -> new Batch(k, world, 0, 0));
+        }
+        Location loc = mob.getLocation();
+        int chunkX = loc.getBlockX() >> 4;
+        int chunkZ = loc.getBlockZ() >> 4;
+        return batches.computeIfAbsent(
+                new Key(world.getUID(), chunkX >> SECTION_SHIFT, chunkZ >> SECTION_SHIFT),
+                k -> new Batch(k, world, chunkX, chunkZ));
+    }
+
+    private void schedule(Batch batch) {
+        FoliaCompat.runAtOneTickLater(plugin, batch.world, batch.chunkX, batch.chunkZ, () -> drain(batch));
+    }
+
+    private void drain(Batch batch) {
+        int budget = cfg.snapshot().getEquipmentPerTick();
+        int processed = 0;
+        Job job;
+        while ((budget <= 0 || processed < budget) && (job = batch.pending.poll()) != null) {
+            processed++;
+            LivingEntity mob = job.mob;
+            if (!FoliaCompat.isOwnedByCurrentRegion(mob)) {
+                // 그 사이 다른 리전으로 넘어감 → 그 리전에서 개별 처리
+                Job moved = job;
+                FoliaCompat.runOneTickLater(plugin, mob, () -> {
+                    if (!moved.mob.isValid()) return;
+                    apply(moved);
+                });
+                continue;
+            }
+            if (!mob.isValid()) continue;
+            apply(job);
+        }
+
+        batch.scheduled.set(false);
+        if (batch.pending.isEmpty()) {
+            // 빈 배치는 맵에서 뺌 (빼기 직전에 들어온 항목은 아래에서 이 배치로 마저 처리)
+            batches.remove(batch.key, batch);
+            if (batch.pending.isEmpty()) return;
+        }
+        // 남은 항목은 다음 틱으로 이월
+        if (batch.scheduled.compareAndSet(false, true)) {
+            schedule(batch);
+        }
+    }
+
+    private void apply(Job job) {
+        long start = metrics.start();
+        equip.applyAll(job.rules, job.mob, job.batch);
+        metrics.recordEquipment(job.mob.getWorld(), start);
+    }
+}
\ No newline at end of file
@@ -1,38 +1,80 @@
 package me.linhyeok;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
-import java.util.function.Consumer;
-
 /**
  * Folia/Paper 양쪽에서 "스폰 1틱 뒤 실행"을 안전하게 수행하기 위한 헬퍼.
- * - Folia가 있으면 RegionScheduler.runDelayed(...)를 리플렉션으로 호출
- * - 그렇지 않으면 BukkitScheduler.runTaskLater(...)로 폴백
+ * - 플랫폼은 클래스 로딩 시 한 번만 판별 (리플렉션/예외 폴백 없음)
+ * - Folia: 엔티티 스케줄러(entity.getScheduler().run) → 작업이 엔티티를 따라 리전 이동
+ * - Paper: BukkitScheduler.runTaskLater(...)
  */
 public final class FoliaCompat {
     private FoliaCompat() {}
 
-    public static void runOneTickLater(Plugin plugin, Entity entity, Runnable task) {
+    private static final boolean FOLIA = detectFolia();
+
+    private static boolean detectFolia() {
         try {
-            // Folia: Bukkit.getRegionScheduler().runDelayed(plugin, location, Consumer<ScheduledTask>, delay)
-            Object regionScheduler = Bukkit.class.getMethod("getRegionScheduler").invoke(null);
-            Class<?> rsClass = regionScheduler.getClass();
-
-            var runDelayed = rsClass.getMethod(
-                    "runDelayed",
-                    Plugin.class,
-                    Location.class,
-                    Consumer.class,
-                    long.class
-            );
-
-            Location loc = entity.getLocation();
-            Consumer<Object> consumer = (scheduledTask) -> task.run();
-            runDelayed.invoke(regionScheduler, plugin, loc, consumer, 1L);
-        } catch (Throwable t) {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    /**
+     * 청크를 소유한 리전에서 1틱 뒤 실행 (Paper는 메인 스레드).
+     * 여러 엔티티를 한 작업으로 묶어 처리할 때 사용.
+     */
+    public static void runAtOneTickLater(Plugin plugin, World world, int chunkX, int chunkZ, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getRegionScheduler().runDelayed(plugin, world, chunkX, chunkZ, scheduledTask -> task.run(), 1L);
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, task, 1L);
+        }
+    }
+
+    /**
+     * 전역 반복 작업 (Folia: GlobalRegionScheduler, Paper: 메인 스레드).
+     * 월드/엔티티를 직접 만지지 않는 집계 작업에만 사용.
+     */
+    public static void runGlobalTimer(Plugin plugin, Runnable task, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduledTask -> task.run(), delayTicks, periodTicks);
+        } else {
+            Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        }
+    }
+
+    /**
+     * 다음 틱에 전역 스레드에서 실행 (Folia: GlobalRegionScheduler, Paper: 메인 스레드).
+     * 백그라운드 작업 결과를 명령 보낸 쪽에 돌려줄 때 사용.
+     */
+    public static void runGlobal(Plugin plugin, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /** 현재 스레드가 엔티티를 소유한 리전인지 (Paper는 항상 메인 스레드에서만 호출되므로 true) */
+    public static boolean isOwnedByCurrentRegion(Entity entity) {
+        return !FOLIA || Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    public static void runOneTickLater(Plugin plugin, Entity entity, Runnable task) {
+        if (FOLIA) {
+            // 다음 틱에 엔티티 소유 리전에서 실행. 엔티티가 이미 제거되었으면 실행되지 않음
+            entity.getScheduler().run(plugin, scheduledTask -> task.run(), null);
+        } else {
             // Paper/Spigot: 고전 스케줄러로 1틱 지연
             Bukkit.getScheduler().runTaskLater(plugin, task, 1L);
         }
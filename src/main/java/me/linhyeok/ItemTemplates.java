@@ -0,0 +1,93 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 장비/드랍용 ItemStack 템플릿 캐시.
+ * - Material.ordinal() 인덱스로 처음 요청될 때 한 번만 만듦 (ItemMeta 왕복은 템플릿당 한 번)
+ * - 내구도는 DURABILITY_BUCKETS 개 구간으로 나눠 구간별 템플릿을 미리 만들고, 뽑을 때는 clone만 함
+ * - 템플릿 자체는 절대 밖으로 내보내지 않음 (항상 clone 반환)
+ */
+public final class ItemTemplates {
+
+    /** 내구도 구간 수 (최대 내구도/3 범위를 이만큼 균등 분할) */
+    static final int DURABILITY_BUCKETS = 16;
+
+    // [material.ordinal()] → 내구도 구간별 템플릿 (내구도 없는 아이템은 길이 1)
+    private final AtomicReferenceArray<ItemStack[]> byMaterial = new AtomicReferenceArray<>(Material.values().length);
+
+    // 고정 인챈트 템플릿
+    private volatile ItemStack channelingTrident;
+    private volatile ItemStack flameBow;
+
+    /** 손상 없는 아이템 1개 */
+    public ItemStack plain(Material material) {
+        return buckets(material)[0].clone();
+    }
+
+    /** 미리 굴려 둔 난수(0 이상)로 고른 내구도 구간의 아이템 1개 (Loadout용) */
+    public ItemStack damaged(Material material, int roll) {
+        ItemStack[] b = buckets(material);
+        return b[roll % b.length].clone();
+    }
+
+    /** 채널링 삼지창 */
+    public ItemStack channelingTrident() {
+        ItemStack t = channelingTrident;
+        if (t == null) {
+            t = new ItemStack(Material.TRIDENT);
+            t.addUnsafeEnchantment(Enchantment.CHANNELING, 1);
+            channelingTrident = t;
+        }
+        return t.clone();
+    }
+
+    /** 화염 활 (환술사) */
+    public ItemStack flameBow() {
+        ItemStack t = flameBow;
+        if (t == null) {
+            t = new ItemStack(Material.BOW);
+            t.addUnsafeEnchantment(Enchantment.FLAME, 1);
+            flameBow = t;
+        }
+        return t.clone();
+    }
+
+    private ItemStack[] buckets(Material material) {
+        ItemStack[] b = byMaterial.get(material.ordinal());
+        if (b == null) {
+            // 동시에 만들어도 결과가 같으므로 먼저 넣은 쪽을 사용
+            b = build(material);
+            if (!byMaterial.compareAndSet(material.ordinal(), null, b)) {
+                b = byMaterial.get(material.ordinal());
+            }
+        }
+        return b;
+    }
+
+    private static ItemStack[] build(Material material) {
+        ItemStack base = new ItemStack(material);
+        int max = material.getMaxDurability();
+        if (max <= 0 || !(base.getItemMeta() instanceof Damageable)) {
+            return new ItemStack[]{base};
+        }
+
+        int range = Math.max(1, max / 3);
+        int count = Math.min(range, DURABILITY_BUCKETS);
+        ItemStack[] out = new ItemStack[count];
+        for (int k = 0; k < count; k++) {
+            ItemStack item = base.clone();
+            if (item.getItemMeta() instanceof Damageable dmg) {
+                dmg.setDamage((int) ((long) k * range / count));
+                item.setItemMeta(dmg);
+            }
+            out[k] = item;
+        }
+        return out;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package me.linhyeok;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR 방식(로그-선형 버킷) 지연 시간 히스토그램 (단위: ns).
+ * - 2의 거듭제곱 구간마다 SUB_COUNT 개로 나눔 → 상대 오차 최대 1/SUB_COUNT (12.5%)
+ * - 버킷은 LongAdder라 여러 리전 스레드가 동시에 기록해도 경합이 적음
+ * - 기록은 할당 없음, 백분위 계산은 버킷 전체를 한 번 훑음 (/dm stats 때만)
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // 2^40 ns ≈ 18분까지 구분, 그 이상은 마지막 버킷
+    private static final int MAX_EXP = 40;
+    private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_COUNT;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[index(nanos)].increment();
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    long count() { return count.sum(); }
+
+    long max() { return max.get(); }
+
+    long sumNanos() { return sum.sum(); }
+
+    double mean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /** p(0~1) 백분위 값 (해당 버킷의 상한, 최대값을 넘지 않음) */
+    long percentile(double p) {
+        long[] snap = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snap[i] = buckets[i].sum();
+            total += snap[i];
+        }
+        if (total == 0) return 0L;
+        long target = Math.max(1L, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snap[i];
+            if (seen >= target) {
+                long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(upper, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * bounds(오름차순, ns) 각각에 대해 그 값 이하로 기록된 개수 (누적, Prometheus le).
+     * 상한이 bound 이하인 버킷만 셈 → bound를 넘는 값은 절대 포함하지 않음.
+     * bound가 버킷 중간에 걸리면 그 버킷은 다음 bound로 넘어감 (최대 12.5% 오차, 작게 셈).
+     */
+    long[] cumulative(long[] bounds) {
+        long[] out = new long[bounds.length];
+        long seen = 0;
+        int b = 0;
+        for (int i = 0; i < BUCKETS && b < bounds.length; i++) {
+            long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+            while (b < bounds.length && upper > bounds[b]) {
+                out[b++] = seen;
+            }
+            seen += buckets[i].sum();
+        }
+        while (b < bounds.length) out[b++] = seen;
+        return out;
+    }
+
+    void reset() {
+        for (LongAdder b : buckets) b.reset();
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int index(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return Math.min((exp - SUB_BITS + 1) * SUB_COUNT + sub, BUCKETS - 1);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) return index;
+        int exp = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        return (1L << exp) | ((long) sub << (exp - SUB_BITS));
+    }
+}
\ No newline at end of file
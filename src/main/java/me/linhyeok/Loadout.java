@@ -0,0 +1,102 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * 몹 한 마리분의 미리 굴린 장비 결과 (아이템 선택 + 내구도 + 인챈트 + 충전 크리퍼).
+ * - EquipmentManager.roll()이 어느 스레드에서든 만들고, applyAll()이 리전 스레드에서 ItemStack으로 풀어냄
+ * - 슬롯 인덱스는 EquipmentProfile.ROLLED_SLOTS 순서 (HAND, HEAD, CHEST, LEGS, FEET)
+ * - 아이템은 int 하나 (종류 << 16 | material.ordinal(), 0이면 비움), 인챈트는 (슬롯 << 16 | 레벨) + Enchantment 배열
+ */
+final class Loadout {
+    static final int HAND = 0;
+    static final int HEAD = 1;
+    static final int CHEST = 2;
+    static final int LEGS = 3;
+    static final int FEET = 4;
+    static final int SLOTS = 5;
+
+    // 아이템 종류
+    static final int NONE = 0;
+    static final int DAMAGED = 1;
+    static final int PLAIN = 2;
+    static final int CHANNELING_TRIDENT = 3;
+    static final int FLAME_BOW = 4;
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final Enchantment[] NO_ENCHANTS = new Enchantment[0];
+    private static final int[] NO_LEVELS = new int[0];
+
+    private final int[] items = new int[SLOTS];
+    private final int[] durability = new int[SLOTS];
+    private Enchantment[] enchantments = NO_ENCHANTS;
+    private int[] enchantInfo = NO_LEVELS;
+    private int enchantCount;
+    private boolean powered;
+
+    // ===== 굴릴 때 (EquipmentManager.roll) =====
+
+    void set(int slot, int kind, Material material, int durabilityRoll) {
+        items[slot] = kind << 16 | material.ordinal();
+        durability[slot] = durabilityRoll;
+    }
+
+    void clear(int slot) {
+        items[slot] = 0;
+    }
+
+    void addEnchant(int slot, Enchantment enchantment, int level) {
+        if (enchantCount == enchantments.length) {
+            int cap = Math.max(4, enchantCount * 2);
+            enchantments = Arrays.copyOf(enchantments, cap);
+            enchantInfo = Arrays.copyOf(enchantInfo, cap);
+        }
+        enchantments[enchantCount] = enchantment;
+        enchantInfo[enchantCount] = slot << 16 | level;
+        enchantCount++;
+    }
+
+    void setPowered() {
+        powered = true;
+    }
+
+    /** 슬롯의 아이템 (비었으면 null) */
+    Material material(int slot) {
+        int code = items[slot];
+        return code == 0 ? null : MATERIALS[code & 0xFFFF];
+    }
+
+    int kind(int slot) {
+        return items[slot] >>> 16;
+    }
+
+    // ===== 적용할 때 (리전 스레드) =====
+
+    boolean isPowered() {
+        return powered;
+    }
+
+    /** 슬롯의 ItemStack (템플릿 복제 + 인챈트, 비었으면 null) */
+    ItemStack item(int slot, ItemTemplates templates) {
+        int code = items[slot];
+        if (code == 0) return null;
+        Material material = MATERIALS[code & 0xFFFF];
+        ItemStack item = switch (code >>> 16) {
+            case DAMAGED -> templates.damaged(material, durability[slot]);
+            case CHANNELING_TRIDENT -> templates.channelingTrident();
+            case FLAME_BOW -> templates.flameBow();
+            default -> templates.plain(material);
+        };
+        for (int i = 0; i < enchantCount; i++) {
+            if (enchantInfo[i] >>> 16 != slot) continue;
+            try {
+                item.addUnsafeEnchantment(enchantments[i], enchantInfo[i] & 0xFFFF);
+            } catch (Exception ignored) {}
+        }
+        return item;
+    }
+}
\ No newline at end of file
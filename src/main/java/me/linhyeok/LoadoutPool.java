@@ -0,0 +1,52 @@
+package me.linhyeok;
+
+import org.bukkit.entity.EntityType;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 엔티티 타입 하나의 미리 굴린 Loadout 풀 (EquipmentManager가 스냅샷별로 들고 있다가 리로드되면 통째로 버림).
+ * - 리전 스레드는 꺼내기만 하고, 절반 이하로 줄면 백그라운드 스레드가 capacity까지 다시 채움
+ * - 비어 있으면 (첫 스폰, 갑작스런 대량 스폰) 호출 스레드에서 바로 굴림
+ */
+final class LoadoutPool {
+    private final RuleSnapshot rules;
+    private final EntityType type;
+    private final Queue<Loadout> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+    LoadoutPool(RuleSnapshot rules, EntityType type) {
+        this.rules = rules;
+        this.type = type;
+    }
+
+    Loadout take(EquipmentManager roller, Executor refiller, int capacity) {
+        Loadout loadout = ready.poll();
+        int left = loadout != null ? size.decrementAndGet() : 0;
+        if (left <= capacity / 2 && refilling.compareAndSet(false, true)) {
+            try {
+                refiller.execute(() -> refill(roller, capacity));
+            } catch (RejectedExecutionException e) {
+                refilling.set(false); // 종료 중
+            }
+        }
+        return loadout != null ? loadout : roller.roll(rules, type);
+    }
+
+    private void refill(EquipmentManager roller, int capacity) {
+        try {
+            while (size.get() < capacity) {
+                ready.offer(roller.roll(rules, type));
+                size.incrementAndGet();
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+
+/**
+ * Material 분류표 (Material.ordinal() → 분류 byte, 클래스 로드 때 한 번 만듦).
+ * - 이름 접미사(_HELMET, _AXE ...) 비교와 isBlock()은 표를 만들 때만 하고, 스폰 경로에서는 배열 한 번 읽기
+ * - 한 Material은 분류 하나 (방어구/무기가 아니고 블록이면 BLOCK, 그 밖은 NONE)
+ */
+final class MaterialClass {
+    static final int NONE = 0;
+    static final int HELMET = 1;
+    static final int CHESTPLATE = 2;
+    static final int LEGGINGS = 3;
+    static final int BOOTS = 4;
+    static final int SWORD = 5;
+    static final int AXE = 6;
+    static final int BOW = 7;
+    static final int TRIDENT = 8;
+    static final int SPEAR = 9; // 1.21.11+ SPEAR 및 *_SPEAR 전부 (미지원 서버에서는 없음)
+    static final int BLOCK = 10;
+
+    private static final byte[] CLASSES;
+
+    static {
+        Material[] materials = Material.values();
+        CLASSES = new byte[materials.length];
+        for (Material m : materials) CLASSES[m.ordinal()] = (byte) classify(m);
+    }
+
+    private MaterialClass() {}
+
+    private static int classify(Material m) {
+        String name = m.name();
+        if (name.startsWith("LEGACY_")) return NONE;
+        if (name.endsWith("_HELMET")) return HELMET;
+        if (name.endsWith("_CHESTPLATE")) return CHESTPLATE;
+        if (name.endsWith("_LEGGINGS")) return LEGGINGS;
+        if (name.endsWith("_BOOTS")) return BOOTS;
+        if (name.endsWith("_SWORD")) return SWORD;
+        if (name.endsWith("_AXE")) return AXE;
+        if (m == Material.BOW) return BOW;
+        if (m == Material.TRIDENT) return TRIDENT;
+        if (name.equals("SPEAR") || name.endsWith("_SPEAR")) return SPEAR;
+        return m.isBlock() ? BLOCK : NONE;
+    }
+
+    /** material의 분류 (null이면 NONE) */
+    static int of(Material material) {
+        return material == null ? NONE : CLASSES[material.ordinal()];
+    }
+
+    /** Loadout 방어구 슬롯(HEAD~FEET)에 맞는 분류, 그 밖의 슬롯은 -1 */
+    static int armorFor(int slot) {
+        return switch (slot) {
+            case Loadout.HEAD -> HELMET;
+            case Loadout.CHEST -> CHESTPLATE;
+            case Loadout.LEGS -> LEGGINGS;
+            case Loadout.FEET -> BOOTS;
+            default -> -1;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package me.linhyeok;
+
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핫패스 계측 (월드별).
+ * - 카운터는 LongAdder, 지연 시간은 LatencyHistogram → 리전 스레드끼리 락 없이 기록
+ * - metrics.enabled: false면 start()가 OFF를 돌려주고 모든 기록이 즉시 반환
+ * - /dm stats [reset]으로 조회/초기화
+ */
+public final class Metrics {
+    /** 계측 꺼짐 표시 (start() 반환값) */
+    static final long OFF = Long.MIN_VALUE;
+
+    private static final CreatureSpawnEvent.SpawnReason[] REASONS = CreatureSpawnEvent.SpawnReason.values();
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final ConfigManager cfg;
+    private final LatencyHistogram reload = new LatencyHistogram();
+    private final Map<UUID, WorldStats> worlds = new ConcurrentHashMap<>();
+    private volatile long sinceMillis = System.currentTimeMillis();
+
+    /** 월드 하나의 계측 값 */
+    static final class WorldStats {
+        final String name;
+        final LatencyHistogram spawnHandler = new LatencyHistogram();
+        final LatencyHistogram equipmentApply = new LatencyHistogram();
+        final LatencyHistogram deathDrops = new LatencyHistogram();
+        final LongAdder[] byReason = adders(REASONS.length);
+        final LongAdder[] byType = adders(TYPES.length);
+        final LongAdder naturalLimitCancels = new LongAdder();
+        final LongAdder lightCancels = new LongAdder();
+        final LongAdder replacements = new LongAdder();
+        final LongAdder clones = new LongAdder();
+        final LongAdder jockeys = new LongAdder();
+        final LongAdder drops = new LongAdder();
+        // from.ordinal() * TYPES.length + to.ordinal() → 횟수
+        final Map<Integer, LongAdder> replacementPairs = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> jockeysByKey = new ConcurrentHashMap<>();
+
+        WorldStats(String name) {
+            this.name = name;
+        }
+
+        void reset() {
+            spawnHandler.reset();
+            equipmentApply.reset();
+            deathDrops.reset();
+            for (LongAdder a : byReason) a.reset();
+            for (LongAdder a : byType) a.reset();
+            naturalLimitCancels.reset();
+            lightCancels.reset();
+            replacements.reset();
+            clones.reset();
+            jockeys.reset();
+            drops.reset();
+            replacementPairs.values().forEach(LongAdder::reset);
+            jockeysByKey.values().forEach(LongAdder::reset);
+        }
+    }
+
+    public Metrics(ConfigManager cfg) {
+        this.cfg = cfg;
+    }
+
+    /** 측정 시작 시각 (꺼져 있으면 OFF) */
+    public long start() {
+        return cfg.snapshot().isMetricsEnabled() ? System.nanoTime() : OFF;
+    }
+
+    // ===== 지연 시간 =====
+
+    public void recordSpawn(World world, CreatureSpawnEvent.SpawnReason reason, EntityType type, long start) {
+        if (start == OFF) return;
+        WorldStats s = stats(world);
+        s.spawnHandler.record(System.nanoTime() - start);
+        s.byReason[reason.ordinal()].increment();
+        s.byType[type.ordinal()].increment();
+    }
+
+    public void recordEquipment(World world, long start) {
+        if (start == OFF) return;
+        stats(world).equipmentApply.record(System.nanoTime() - start);
+    }
+
+    public void recordDeathDrops(World world, int dropped, long start) {
+        if (start == OFF) return;
+        WorldStats s = stats(world);
+        s.deathDrops.record(System.nanoTime() - start);
+        if (dropped > 0) s.drops.add(dropped);
+    }
+
+    /** 리로드는 백그라운드 스레드에서 측정한 소요 시간을 그대로 받음 */
+    public void recordReload(long nanos) {
+        if (cfg.snapshot().isMetricsEnabled()) reload.record(nanos);
+    }
+
+    // ===== 결과 카운터 =====
+
+    public void naturalLimitCancelled(RuleSnapshot rules, World world) {
+        if (rules.isMetricsEnabled()) stats(world).naturalLimitCancels.increment();
+    }
+
+    public void lightCancelled(RuleSnapshot rules, World world) {
+        if (rules.isMetricsEnabled()) stats(world).lightCancels.increment();
+    }
+
+    public void replaced(RuleSnapshot rules, World world, EntityType from, EntityType to) {
+        if (!rules.isMetricsEnabled()) return;
+        WorldStats s = stats(world);
+        s.replacements.increment();
+        s.replacementPairs.computeIfAbsent(from.ordinal() * TYPES.length + to.ordinal(), k -> new LongAdder()).increment();
+    }
+
+    public void cloned(RuleSnapshot rules, World world, int count) {
+        if (count > 0 && rules.isMetricsEnabled()) stats(world).clones.add(count);
+    }
+
+    public void jockey(RuleSnapshot rules, World world, String key) {
+        if (!rules.isMetricsEnabled()) return;
+        WorldStats s = stats(world);
+        s.jockeys.increment();
+        s.jockeysByKey.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private WorldStats stats(World world) {
+        WorldStats s = worlds.get(world.getUID());
+        if (s == null) s = worlds.computeIfAbsent(world.getUID(), id -> new WorldStats(world.getName()));
+        return s;
+    }
+
+    // ===== 내보내기 (PrometheusExporter) =====
+
+    Iterable<WorldStats> worlds() {
+        return worlds.values();
+    }
+
+    LatencyHistogram reloadHistogram() {
+        return reload;
+    }
+
+    static EntityType replacementSource(int pairKey) {
+        return TYPES[pairKey / TYPES.length];
+    }
+
+    static EntityType replacementTarget(int pairKey) {
+        return TYPES[pairKey % TYPES.length];
+    }
+
+    static CreatureSpawnEvent.SpawnReason reason(int ordinal) {
+        return REASONS[ordinal];
+    }
+
+    static EntityType type(int ordinal) {
+        return TYPES[ordinal];
+    }
+
+    // ===== /dm stats =====
+
+    public void reset() {
+        reload.reset();
+        for (WorldStats s : worlds.values()) s.reset();
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    /** 사람이 읽을 보고서 (줄 단위) */
+    public List<String> report() {
+        List<String> out = new ArrayList<>();
+        long seconds = Math.max(1L, (System.currentTimeMillis() - sinceMillis) / 1000L);
+        out.add("Since " + seconds + "s ago" + (cfg.snapshot().isMetricsEnabled() ? "" : " (metrics disabled)"));
+        out.add("  reload " + describe(reload));
+
+        Map<String, WorldStats> byName = new TreeMap<>();
+        for (WorldStats s : worlds.values()) byName.put(s.name, s);
+        for (WorldStats s : byName.values()) {
+            out.add(s.name + ":");
+            out.add("  spawn " + describe(s.spawnHandler));
+            out.add("  equip " + describe(s.equipmentApply));
+            out.add("  drops " + describe(s.deathDrops));
+            out.add("  natural-limit " + s.naturalLimitCancels.sum()
+                    + " • too bright " + s.lightCancels.sum()
+                    + " • replaced " + s.replacements.sum()
+                    + " • clones " + s.clones.sum()
+                    + " • jockeys " + s.jockeys.sum()
+                    + " • drops " + s.drops.sum());
+            out.add("  reasons " + top(s.byReason, REASONS, 5));
+            out.add("  types " + top(s.byType, TYPES, 5));
+        }
+        return out;
+    }
+
+    private static String describe(LatencyHistogram h) {
+        long n = h.count();
+        if (n == 0) return "n=0";
+        return String.format("n=%d mean=%.1fµs p50=%.1fµs p99=%.1fµs max=%.1fµs",
+                n, h.mean() / 1000.0, h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0, h.max() / 1000.0);
+    }
+
+    /** 많은 순서로 limit 개 ("NATURAL=120, SPAWNER=4") */
+    private static String top(LongAdder[] counts, Enum<?>[] keys, int limit) {
+        long[] sums = new long[counts.length];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            sums[i] = counts[i].sum();
+            if (sums[i] > 0) order.add(i);
+        }
+        if (order.isEmpty()) return "-";
+        order.sort((x, y) -> Long.compare(sums[y], sums[x]));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, order.size()); i++) {
+            int idx = order.get(i);
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(keys[idx].name()).append('=').append(sums[idx]);
+        }
+        if (order.size() > limit) sb.append(", …");
+        return sb.toString();
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] out = new LongAdder[n];
+        for (int i = 0; i < n; i++) out[i] = new LongAdder();
+        return out;
+    }
+}
\ No newline at end of file
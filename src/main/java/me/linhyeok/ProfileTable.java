@@ -0,0 +1,129 @@
+package me.linhyeok;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 월드/바이옴별 규칙 프로필 조회 표 (RuleSnapshot마다 하나, 불변 + 월드별 지연 생성).
+ * - 프로필 = 기본 설정 위에 profiles.<name>.rules를 덮어써서 컴파일한 RuleSnapshot
+ * - 월드 UID → 바이옴 ordinal 인덱스 배열. 월드 이름 비교는 그 월드의 첫 조회 때 한 번만
+ * - 같은 위치에 여러 프로필이 맞으면 설정 파일 순서상 먼저 나온 것
+ */
+final class ProfileTable {
+    static final ProfileTable NONE = new ProfileTable(null, List.of());
+
+    /** 프로필 하나 (worlds 비어 있으면 모든 월드, biomes가 null이면 모든 바이옴) */
+    static final class Def {
+        final Set<String> worlds;
+        final int[] biomes;
+        final RuleSnapshot rules;
+
+        Def(Set<String> worlds, int[] biomes, RuleSnapshot rules) {
+            this.worlds = worlds;
+            this.biomes = biomes;
+            this.rules = rules;
+        }
+
+        boolean matchesWorld(World world) {
+            return worlds.isEmpty() || worlds.contains(world.getName());
+        }
+
+        boolean matchesBiome(int ordinal) {
+            if (biomes == null) return true;
+            for (int b : biomes) if (b == ordinal) return true;
+            return false;
+        }
+    }
+
+    /** 월드 하나의 조회 결과 (byBiome이 null이면 바이옴 구분 없음) */
+    private static final class WorldTable {
+        final RuleSnapshot fallback;
+        final RuleSnapshot[] byBiome;
+
+        WorldTable(RuleSnapshot fallback, RuleSnapshot[] byBiome) {
+            this.fallback = fallback;
+            this.byBiome = byBiome;
+        }
+    }
+
+    private final RuleSnapshot base;
+    private final List<Def> defs;
+    // 프로필 스냅샷 (설정 순서, 월드 캐시를 함께 갱신할 때 씀)
+    private final List<RuleSnapshot> snapshots;
+    private final Map<UUID, WorldTable> worlds = new ConcurrentHashMap<>();
+
+    ProfileTable(RuleSnapshot base, List<Def> defs) {
+        this.base = base;
+        this.defs = List.copyOf(defs);
+        this.snapshots = this.defs.stream().map(d -> d.rules).toList();
+    }
+
+    /** "deep_dark" / "minecraft:deep_dark" → Biome (없으면 null) */
+    static Biome biome(String name) {
+        NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+        return key != null ? Registry.BIOME.get(key) : null;
+    }
+
+    boolean isEmpty() {
+        return defs.isEmpty();
+    }
+
+    /** 프로필 스냅샷 전부 (프로필이 없으면 빈 목록) */
+    List<RuleSnapshot> snapshots() {
+        return snapshots;
+    }
+
+    /** 언로드된 월드의 조회 표 제거 */
+    void forget(World world) {
+        worlds.remove(world.getUID());
+    }
+
+    /** 위치에 맞는 규칙 */
+    @SuppressWarnings("deprecation") // Biome.ordinal(): 레지스트리 순번, 배열 인덱스로만 사용
+    RuleSnapshot resolve(World world, int x, int y, int z) {
+        WorldTable t = worlds.get(world.getUID());
+        if (t == null) t = worlds.computeIfAbsent(world.getUID(), id -> build(world));
+        if (t.byBiome == null) return t.fallback;
+        int biome = world.getBiome(x, y, z).ordinal();
+        RuleSnapshot r = biome < t.byBiome.length ? t.byBiome[biome] : null;
+        return r != null ? r : t.fallback;
+    }
+
+    private WorldTable build(World world) {
+        RuleSnapshot fallback = base;
+        int maxBiome = -1;
+        for (int i = defs.size() - 1; i >= 0; i--) {
+            Def d = defs.get(i);
+            if (!d.matchesWorld(world)) continue;
+            if (d.biomes == null) {
+                fallback = d.rules;
+            } else {
+                for (int b : d.biomes) maxBiome = Math.max(maxBiome, b);
+            }
+        }
+        if (maxBiome < 0) return new WorldTable(fallback, null);
+
+        // 바이옴마다 처음 맞는 프로필 (바이옴 제한 없는 프로필이 먼저 나오면 그게 우선)
+        RuleSnapshot[] byBiome = new RuleSnapshot[maxBiome + 1];
+        Arrays.fill(byBiome, fallback);
+        for (int b = 0; b <= maxBiome; b++) {
+            for (Def d : defs) {
+                if (d.matchesWorld(world) && d.matchesBiome(b)) {
+                    byBiome[b] = d.rules;
+                    break;
+                }
+            }
+        }
+        return new WorldTable(fallback, byBiome);
+    }
+}
\ No newline at end of file
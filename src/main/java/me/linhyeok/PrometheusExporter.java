@@ -0,0 +1,286 @@
+package me.linhyeok;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics를 Prometheus 텍스트 형식으로 내보내는 내장 HTTP 엔드포인트 (선택 기능, 기본 꺼짐).
+ * - JDK com.sun.net.httpserver 사용, 기본 127.0.0.1에만 바인드
+ * - 전용 데몬 스레드가 refresh-seconds마다 본문을 미리 만들어 두고, 스크레이프는 그 바이트만 돌려줌
+ *   → 요청이 리전/메인 스레드를 건드리지 않음
+ * - reload 시 설정(enabled/bind/port/refresh)이 바뀌었으면 다시 시작
+ */
+public final class PrometheusExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // 히스토그램 le 경계 (초) / 같은 값의 ns
+    private static final double[] BOUNDS_SECONDS = {
+            0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005,
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 1.0
+    };
+    private static final long[] BOUNDS_NANOS = nanos(BOUNDS_SECONDS);
+    private static final String[] BOUND_LABELS = labels(BOUNDS_SECONDS);
+    // 틱 시간 히스토그램 경계 (초, 50ms = 20 TPS 기준)
+    private static final double[] TICK_BOUNDS_SECONDS = {
+            0.005, 0.01, 0.02, 0.03, 0.04, 0.045, 0.05, 0.06, 0.075, 0.1, 0.15, 0.25, 0.5, 1.0
+    };
+    private static final long[] TICK_BOUNDS_NANOS = nanos(TICK_BOUNDS_SECONDS);
+    private static final String[] TICK_BOUND_LABELS = labels(TICK_BOUNDS_SECONDS);
+
+    private static long[] nanos(double[] seconds) {
+        long[] out = new long[seconds.length];
+        for (int i = 0; i < seconds.length; i++) out[i] = Math.round(seconds[i] * 1_000_000_000L);
+        return out;
+    }
+
+    private static String[] labels(double[] seconds) {
+        String[] out = new String[seconds.length];
+        for (int i = 0; i < seconds.length; i++) out[i] = java.math.BigDecimal.valueOf(seconds[i]).toPlainString();
+        return out;
+    }
+
+    private final Plugin plugin;
+    private final Metrics metrics;
+    private final SpawnGovernor governor;
+
+    private HttpServer server;
+    private ScheduledExecutorService refresher;
+    private String runningKey;
+    private volatile byte[] body = new byte[0];
+
+    public PrometheusExporter(Plugin plugin, Metrics metrics, SpawnGovernor governor) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.governor = governor;
+    }
+
+    /** 스냅샷 설정에 맞춰 시작/정지/재시작 (onEnable, reload에서 호출) */
+    public synchronized void apply(RuleSnapshot rules) {
+        String key = rules.isMetricsHttpEnabled()
+                ? rules.getMetricsHttpBind() + ":" + rules.getMetricsHttpPort() + "/" + rules.getMetricsHttpRefreshSeconds()
+                : null;
+        if (key == null ? runningKey == null : key.equals(runningKey)) return;
+
+        stop();
+        if (key == null) return;
+        try {
+            HttpServer http = HttpServer.create(
+                    new InetSocketAddress(rules.getMetricsHttpBind(), rules.getMetricsHttpPort()), 0);
+            http.createContext("/metrics", this::serve);
+            ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "DynamicMob-metrics");
+                t.setDaemon(true);
+                return t;
+            });
+            http.setExecutor(exec);
+            refresh();
+            exec.scheduleAtFixedRate(this::refreshQuietly,
+                    rules.getMetricsHttpRefreshSeconds(), rules.getMetricsHttpRefreshSeconds(), TimeUnit.SECONDS);
+            http.start();
+            this.server = http;
+            this.refresher = exec;
+            this.runningKey = key;
+            plugin.getLogger().info("Metrics endpoint listening on http://" + rules.getMetricsHttpBind()
+                    + ":" + rules.getMetricsHttpPort() + "/metrics");
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to start metrics endpoint on " + rules.getMetricsHttpBind()
+                    + ":" + rules.getMetricsHttpPort() + ": " + e.getMessage());
+        }
+    }
+
+    /** onDisable에서 호출 */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+        runningKey = null;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] out = body;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, out.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(out);
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Failed to refresh metrics snapshot: " + e.getMessage());
+        }
+    }
+
+    /** 현재 카운터/히스토그램을 텍스트로 만들어 교체 */
+    void refresh() {
+        StringBuilder sb = new StringBuilder(4096);
+
+        header(sb, "dynamicmob_spawns_total", "counter", "Spawn events handled, by spawn reason");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            for (int i = 0; i < s.byReason.length; i++) {
+                long v = s.byReason[i].sum();
+                if (v > 0) sample(sb, "dynamicmob_spawns_total", v, "world", s.name, "reason", Metrics.reason(i).name());
+            }
+        }
+        header(sb, "dynamicmob_spawns_by_type_total", "counter", "Spawn events handled, by entity type");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            for (int i = 0; i < s.byType.length; i++) {
+                long v = s.byType[i].sum();
+                if (v > 0) sample(sb, "dynamicmob_spawns_by_type_total", v, "world", s.name, "type", Metrics.type(i).name());
+            }
+        }
+        header(sb, "dynamicmob_natural_limit_cancels_total", "counter", "Natural spawns cancelled by natural-limit");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            sample(sb, "dynamicmob_natural_limit_cancels_total", s.naturalLimitCancels.sum(), "world", s.name);
+        }
+        header(sb, "dynamicmob_light_cancels_total", "counter", "Natural monster spawns cancelled by light-threshold");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            sample(sb, "dynamicmob_light_cancels_total", s.lightCancels.sum(), "world", s.name);
+        }
+        header(sb, "dynamicmob_clones_total", "counter", "Extra mobs spawned by the spawn multiplier");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            sample(sb, "dynamicmob_clones_total", s.clones.sum(), "world", s.name);
+        }
+        header(sb, "dynamicmob_replacements_total", "counter", "Replacement spawns, by source and target type");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            for (Map.Entry<Integer, LongAdder> e : s.replacementPairs.entrySet()) {
+                sample(sb, "dynamicmob_replacements_total", e.getValue().sum(), "world", s.name,
+                        "from", Metrics.replacementSource(e.getKey()).name(),
+                        "to", Metrics.replacementTarget(e.getKey()).name());
+            }
+        }
+        header(sb, "dynamicmob_jockeys_total", "counter", "Jockeys created, by jockey-chance key");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            for (Map.Entry<String, LongAdder> e : s.jockeysByKey.entrySet()) {
+                sample(sb, "dynamicmob_jockeys_total", e.getValue().sum(), "world", s.name, "key", e.getKey());
+            }
+        }
+        header(sb, "dynamicmob_drops_total", "counter", "Custom death drops rolled");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            sample(sb, "dynamicmob_drops_total", s.drops.sum(), "world", s.name);
+        }
+        header(sb, "dynamicmob_equipment_applied_total", "counter", "Mobs that received custom equipment");
+        for (Metrics.WorldStats s : metrics.worlds()) {
+            sample(sb, "dynamicmob_equipment_applied_total", s.equipmentApply.count(), "world", s.name);
+        }
+
+        histogramHeader(sb, "dynamicmob_spawn_handler_seconds", "Time spent in the creature spawn handler");
+        for (Metrics.WorldStats s : metrics.worlds()) histogram(sb, "dynamicmob_spawn_handler_seconds", s.spawnHandler, s.name);
+        histogramHeader(sb, "dynamicmob_equipment_apply_seconds", "Time spent applying equipment to one mob");
+        for (Metrics.WorldStats s : metrics.worlds()) histogram(sb, "dynamicmob_equipment_apply_seconds", s.equipmentApply, s.name);
+        histogramHeader(sb, "dynamicmob_death_drops_seconds", "Time spent rolling custom death drops");
+        for (Metrics.WorldStats s : metrics.worlds()) histogram(sb, "dynamicmob_death_drops_seconds", s.deathDrops, s.name);
+        histogramHeader(sb, "dynamicmob_reload_seconds", "Time spent reloading rules");
+        histogram(sb, "dynamicmob_reload_seconds", metrics.reloadHistogram(), null);
+
+        header(sb, "dynamicmob_server_mspt", "gauge", "Server tick time seen by the spawn governor (ms, -1 if unknown)");
+        sample(sb, "dynamicmob_server_mspt", governor.getLastMspt());
+        histogramHeader(sb, "dynamicmob_server_tick_seconds", "Server tick time sampled by the spawn governor once per second");
+        histogram(sb, "dynamicmob_server_tick_seconds", governor.tickHistogram(), null, TICK_BOUNDS_NANOS, TICK_BOUND_LABELS);
+        // 패밀리마다 HELP/TYPE 바로 뒤에 샘플이 이어져야 함
+        Map<String, double[]> governed = governor.describe();
+        header(sb, "dynamicmob_governor_mspt_factor", "gauge", "Spawn governor multiplier factor from tick time (0-1)");
+        sample(sb, "dynamicmob_governor_mspt_factor", governor.getMsptFactor());
+        header(sb, "dynamicmob_governor_factor", "gauge", "Spawn governor multiplier factor in the busiest region of each world (0-1)");
+        for (Map.Entry<String, double[]> e : governed.entrySet()) {
+            sample(sb, "dynamicmob_governor_factor", e.getValue()[2], "world", e.getKey());
+        }
+        header(sb, "dynamicmob_governor_mobs", "gauge", "Mobs tracked per world by the spawn governor");
+        for (Map.Entry<String, double[]> e : governed.entrySet()) {
+            sample(sb, "dynamicmob_governor_mobs", e.getValue()[0], "world", e.getKey());
+        }
+        header(sb, "dynamicmob_governor_region_mobs_max", "gauge", "Mobs in the busiest 128x128 region of each world");
+        for (Map.Entry<String, double[]> e : governed.entrySet()) {
+            sample(sb, "dynamicmob_governor_region_mobs_max", e.getValue()[1], "world", e.getKey());
+        }
+
+        body = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void histogram(StringBuilder sb, String name, LatencyHistogram h, String world) {
+        histogram(sb, name, h, world, BOUNDS_NANOS, BOUND_LABELS);
+    }
+
+    private static void histogram(StringBuilder sb, String name, LatencyHistogram h, String world,
+                                  long[] bounds, String[] boundLabels) {
+        long[] cumulative = h.cumulative(bounds);
+        for (int i = 0; i < bounds.length; i++) {
+            if (world == null) sample(sb, name + "_bucket", cumulative[i], "le", boundLabels[i]);
+            else sample(sb, name + "_bucket", cumulative[i], "world", world, "le", boundLabels[i]);
+        }
+        long count = h.count();
+        double sumSeconds = h.sumNanos() / 1_000_000_000.0;
+        if (world == null) {
+            sample(sb, name + "_bucket", count, "le", "+Inf");
+            sample(sb, name + "_sum", sumSeconds);
+            sample(sb, name + "_count", count);
+        } else {
+            sample(sb, name + "_bucket", count, "world", world, "le", "+Inf");
+            sample(sb, name + "_sum", sumSeconds, "world", world);
+            sample(sb, name + "_count", count, "world", world);
+        }
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void histogramHeader(StringBuilder sb, String name, String help) {
+        header(sb, name, "histogram", help);
+    }
+
+    private static void sample(StringBuilder sb, String name, double value, String... labels) {
+        sb.append(name);
+        if (labels.length > 0) {
+            sb.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) sb.append(',');
+                sb.append(labels[i]).append("=\"");
+                escape(sb, labels[i + 1]);
+                sb.append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) sb.append((long) value);
+        else sb.append(value);
+        sb.append('\n');
+    }
+
+    private static void escape(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package me.linhyeok;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * 모든 확률 판정이 사용하는 난수 소스.
+ * - 기본: ThreadLocalRandom (Folia 리전 스레드끼리 시드를 공유하지 않아 CAS 경합 없음)
+ * - 시드 모드: config의 random-seed가 설정되면 스레드마다 고정 시드에서 split한 SplittableRandom 사용
+ *   (단일 스레드 벤치마크/테스트는 같은 시드로 완전히 재현됨)
+ */
+public final class Rng {
+    private Rng() {}
+
+    // 시드 모드 루트 (null이면 ThreadLocalRandom)
+    private static volatile SplittableRandom seededRoot = null;
+    // 시드가 바뀔 때마다 증가 → 각 스레드가 자기 스트림을 다시 split
+    private static volatile int generation = 0;
+
+    private static final ThreadLocal<SeededStream> SEEDED = new ThreadLocal<>();
+
+    private static final class SeededStream {
+        final int generation;
+        final SplittableRandom random;
+
+        SeededStream(int generation, SplittableRandom random) {
+            this.generation = generation;
+            this.random = random;
+        }
+    }
+
+    /** 고정 시드 모드 활성화 */
+    public static synchronized void seed(long seed) {
+        seededRoot = new SplittableRandom(seed);
+        generation++;
+    }
+
+    /** 고정 시드 모드 해제 (ThreadLocalRandom으로 복귀) */
+    public static synchronized void unseed() {
+        seededRoot = null;
+        generation++;
+    }
+
+    public static boolean isSeeded() {
+        return seededRoot != null;
+    }
+
+    /** 현재 스레드의 난수 생성기 */
+    public static RandomGenerator current() {
+        SplittableRandom root = seededRoot;
+        if (root == null) return ThreadLocalRandom.current();
+
+        SeededStream s = SEEDED.get();
+        if (s == null || s.generation != generation) {
+            s = split();
+            SEEDED.set(s);
+        }
+        return s.random;
+    }
+
+    private static synchronized SeededStream split() {
+        SplittableRandom root = seededRoot;
+        return new SeededStream(generation, root != null ? root.split() : new SplittableRandom());
+    }
+
+    /** [0, 1) 균등 난수 */
+    public static double nextDouble() {
+        return current().nextDouble();
+    }
+
+    /** [0, bound) 정수 난수 */
+    public static int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+}
\ No newline at end of file
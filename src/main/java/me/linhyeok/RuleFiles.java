@@ -0,0 +1,118 @@
+package me.linhyeok;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+/**
+ * plugins/DynamicMob/rules/<entity>.yml 로더.
+ * - 파일 하나 = spawn-chance.<entity> 섹션 하나 (같은 키: weapon/helmet/.../drops/scale_values/special ...)
+ * - config.yml의 같은 엔티티 섹션 위에 최상위 키 단위로 덮어씀 (파일에 없는 키는 config.yml 값 유지)
+ *   weapon/helmet/drops 같은 표는 통째로 교체됨 → 파일에서 뺀 재료는 config.yml에 있어도 빠짐
+ * - 파일은 매번 읽어서 내용 해시(CRC32C)를 계산하고, 해시가 같으면 다시 파싱하지 않음
+ *   (수정 시각/크기는 믿지 않음: 같은 크기로 빠르게 고치거나 cp -p/rsync -t로 되돌린 파일도 잡힘, 파일이 작아 읽기는 싸다)
+ *   → 바뀐 파일만 파싱되고, 병합된 섹션 지문이 같으면 ConfigManager가 컴파일 결과도 재사용
+ * - ConfigManager의 컴파일 스레드(및 onEnable)에서만 사용
+ */
+final class RuleFiles {
+    static final String DIRECTORY = "rules";
+
+    /** 파일 하나의 캐시 */
+    private static final class Entry {
+        long hash;
+        ConfigurationSection section;
+    }
+
+    private final File dir;
+    private final Map<String, Entry> cache = new HashMap<>();
+
+    RuleFiles(File dataFolder) {
+        this.dir = new File(dataFolder, DIRECTORY);
+    }
+
+    /**
+     * 엔티티 이름(소문자, 확장자 제외) → 파싱된 섹션.
+     * 읽기/파싱에 실패한 파일은 errors에 추가하고 결과에서 뺌.
+     */
+    synchronized Map<String, ConfigurationSection> load(List<String> errors) {
+        File[] files = dir.listFiles((d, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
+        if (files == null || files.length == 0) {
+            cache.clear();
+            return Collections.emptyMap();
+        }
+
+        Map<String, ConfigurationSection> out = new TreeMap<>();
+        Set<String> seen = new HashSet<>();
+        for (File file : files) {
+            String name = file.getName();
+            String entity = name.substring(0, name.length() - 4).toLowerCase(Locale.ROOT);
+            seen.add(entity);
+            ConfigurationSection section = read(file, entity, errors);
+            if (section != null) out.put(entity, section);
+        }
+        cache.keySet().retainAll(seen);
+        return out;
+    }
+
+    private ConfigurationSection read(File file, String entity, List<String> errors) {
+        Entry e = cache.get(entity);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file.toPath());
+        } catch (IOException ex) {
+            errors.add("Could not read " + DIRECTORY + "/" + file.getName() + ": " + ex.getMessage());
+            cache.remove(entity);
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        long hash = crc.getValue() ^ ((long) bytes.length << 32);
+
+        // 내용이 같음 → 파싱 생략
+        if (e != null && e.hash == hash) return e.section;
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(new String(bytes, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException ex) {
+            errors.add("Invalid YAML in " + DIRECTORY + "/" + file.getName() + ": " + ex.getMessage());
+            cache.remove(entity);
+            return null;
+        }
+        Entry fresh = new Entry();
+        fresh.hash = hash;
+        fresh.section = yaml;
+        cache.put(entity, fresh);
+        return yaml;
+    }
+
+    /**
+     * base 위에 override의 최상위 키를 통째로 덮어쓴 새 섹션 (둘 중 하나가 없으면 나머지를 그대로 반환).
+     * 하위 표는 섞지 않음: override에 weapon이 있으면 base의 weapon은 전부 버림.
+     */
+    static ConfigurationSection merge(ConfigurationSection base, ConfigurationSection override) {
+        if (override == null) return base;
+        if (base == null) return override;
+        MemoryConfiguration merged = new MemoryConfiguration();
+        copyTree(base, merged);
+        for (String key : override.getKeys(false)) merged.set(key, null);
+        copyTree(override, merged);
+        return merged;
+    }
+
+    /** 섹션 구조까지 복사 (getValues(true)는 부모 섹션이 자식보다 먼저 나옴, 빈 표도 빈 섹션으로 남김) */
+    private static void copyTree(ConfigurationSection from, ConfigurationSection to) {
+        for (Map.Entry<String, Object> e : from.getValues(true).entrySet()) {
+            if (e.getValue() instanceof ConfigurationSection) to.createSection(e.getKey());
+            else to.set(e.getKey(), e.getValue());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,619 @@
+package me.linhyeok;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.EquipmentSlot;
+
+import java.util.*;
+
+/**
+ * DynamicMob - 컴파일된 스폰 규칙 스냅샷 (규칙은 불변)
+ * - ConfigManager.reload()가 Builder에 전부 채운 뒤 build()로 한 번에 생성
+ * - ConfigManager의 volatile 참조로 교체되므로 리전 스레드는 락 없이 읽고, 반쯤 만들어진 테이블을 보지 않음
+ * - 모든 컬렉션은 복사 후 수정 불가로 감쌈
+ * - profiles가 있으면 월드/바이옴별 RuleSnapshot을 함께 들고 있음 (profileFor/profileAt으로 조회)
+ *   프로필은 스폰/장비 규칙만 바꿈: 전역 설정(성능, 메트릭, 거버너, 밀도 제한 등)은 빌드 때 기본 설정 값으로 덮어씀
+ * - 로드된 월드에 따라 달라지는 조회 캐시만 예외: 월드 판정(WorldStates)과 프로필 표(ProfileTable)는
+ *   월드 UID별로 지연 생성되고 스폰 스레드에서 채워짐 (둘 다 불변 설정에서 계산한 결과만 담음)
+ */
+public final class RuleSnapshot {
+
+    /** 첫 reload() 이전에 사용되는 빈 스냅샷 */
+    static final RuleSnapshot EMPTY = new Builder().build();
+
+    // ==== 월드 화이트리스트 + 월드별 밝기 기준 (light-threshold, 15면 필터 없음) ====
+    private final WorldStates worldStates;
+    /** EntityType.ordinal() → 엔티티별 기준 (-1이면 월드/전역 값) */
+    private final int[] entityLightThresholds;
+
+    // ==== 난수 시드 (null이면 시드 없음) ====
+    private final Long randomSeed;
+
+    // ==== 기본 스폰/설정 ====
+    private final double mobSpawnMultiplier;
+
+    // ==== 성능 ====
+    private final int equipmentPerTick;
+    private final int spawnerEquipmentPerMinute;
+    private final int loadoutPoolSize;
+    private final boolean metricsEnabled;
+    private final boolean metricsHttpEnabled;
+    private final String metricsHttpBind;
+    private final int metricsHttpPort;
+    private final int metricsHttpRefreshSeconds;
+    private final boolean autoReloadEnabled;
+    private final long autoReloadDebounceMillis;
+
+    // ==== 스폰 거버너 ====
+    private final boolean governorEnabled;
+    private final double governorMsptSoft;
+    private final double governorMsptHard;
+    private final long governorMobsSoft;
+    private final long governorMobsHard;
+    private final double governorBackoffRate;
+    private final double governorRecoverRate;
+
+    // ==== 밀도 제한 (DensityTracker 슬롯 인덱스, 없으면 DensityTracker.NO_CAP) ====
+    private final boolean densityCapsEnabled;
+    private final int[] chunkDensityCaps;
+    private final int[] regionDensityCaps;
+
+    // ==== 인첸트 확률 ====
+    private final double weaponEnchantChance;
+    private final double armorEnchantChance;
+
+    // ==== Killer Bunny ====
+    private final boolean killerBunnyEnabled;
+    private final double  killerBunnyChance;
+    private final boolean killerBunnyApplyNatural;
+    private final boolean killerBunnyApplySpawner;
+    private final boolean killerBunnyApplySpawnEgg;
+
+    // ==== 조키 확률 ====
+    private final Map<String, Double> jockeyChances;
+
+    // ==== 엔티티별 장비 프로필(EntityType.ordinal() 인덱스) 및 제한 ====
+    private final EquipmentProfile[] equipmentProfiles;
+    private final Set<EntityType> disabledEntities;
+    private final Map<EntityType, Double> naturalSpawnChance;
+
+    // ==== 엔티티별 드랍 아이템 설정 ====
+    private final Map<EntityType, Map<Material, Double>> dropChances;
+
+    // ==== 엔티티별 스케일 테이블 ====
+    private final Map<EntityType, WeightedTable<Double>> scaleTables;
+
+    // ==== 대체 스폰 테이블 ====
+    private final Map<EntityType, WeightedTable<EntityType>> replacementTables;
+    private final boolean replacementApplyNatural;
+    private final boolean replacementApplySpawner;
+    private final boolean replacementApplySpawnEgg;
+
+    // ==== 블록 헬멧 ====
+    private final Map<Material, Double> generalBlockHelmetChances;
+    private final Map<Material, Double> skeletonBlockHelmetChances;
+    // 계열별로 미리 합친 후보 (좀비 = general, 스켈레톤 = general + skeleton 덮어쓰기)
+    private final BlockHelmets zombieBlockHelmets;
+    private final BlockHelmets skeletonBlockHelmets;
+    private final boolean blockHelmetEnabled;
+
+    // ==== EquipmentManager 전역 특수 확률 ====
+    private final double boneInHandChance;
+    private final double drownedChannelingChance;
+    private final double chargedCreeperChance;
+
+    // ==== Vindicator/Illusioner 손 아이템 ====
+    private final Material vindicatorHandItem;
+    private final Material illusionerHandItem;
+    private final double illusionerFlameChance;
+
+    // ==== 1.21.11+ 좀비/허스크 Spear(창) & 조키 ====
+    private final double zombieSpearChance;
+    private final double huskSpearChance;
+    private final double zombieHorseJockeyChance;
+    private final double huskCamelJockeyChance;
+    private final double drownedNautilusJockeyChance;
+
+    // ==== 1.21.11+ 피글린/좀비화 피글린 금창(Golden Spear) ====
+    private final double piglinGoldSpearChance;
+    private final double zombifiedPiglinGoldSpearChance;
+
+    // ==== 월드/바이옴별 프로필 (없으면 ProfileTable.NONE) ====
+    private final ProfileTable profiles;
+
+    private RuleSnapshot(Builder b) {
+        this.worldStates = new WorldStates(b.enabledWorlds, b.lightThreshold, b.worldLightThresholds);
+        int[] lights = new int[EntityType.values().length];
+        Arrays.fill(lights, -1);
+        b.entityLightThresholds.forEach((type, light) -> lights[type.ordinal()] = light);
+        this.entityLightThresholds = lights;
+        this.mobSpawnMultiplier = b.mobSpawnMultiplier;
+        this.randomSeed = b.randomSeed;
+        this.equipmentPerTick = b.equipmentPerTick;
+        this.spawnerEquipmentPerMinute = b.spawnerEquipmentPerMinute;
+        this.loadoutPoolSize = b.loadoutPoolSize;
+        this.metricsEnabled = b.metricsEnabled;
+        this.metricsHttpEnabled = b.metricsHttpEnabled;
+        this.metricsHttpBind = b.metricsHttpBind;
+        this.metricsHttpPort = b.metricsHttpPort;
+        this.metricsHttpRefreshSeconds = b.metricsHttpRefreshSeconds;
+        this.autoReloadEnabled = b.autoReloadEnabled;
+        this.autoReloadDebounceMillis = b.autoReloadDebounceMillis;
+
+        this.governorEnabled = b.governorEnabled;
+        this.governorMsptSoft = b.governorMsptSoft;
+        this.governorMsptHard = b.governorMsptHard;
+        this.governorMobsSoft = b.governorMobsSoft;
+        this.governorMobsHard = b.governorMobsHard;
+        this.governorBackoffRate = b.governorBackoffRate;
+        this.governorRecoverRate = b.governorRecoverRate;
+
+        this.chunkDensityCaps = compileCaps(b.chunkDensityCaps);
+        this.regionDensityCaps = compileCaps(b.regionDensityCaps);
+        this.densityCapsEnabled = b.densityCapsEnabled
+                && (!b.chunkDensityCaps.isEmpty() || !b.regionDensityCaps.isEmpty());
+        this.weaponEnchantChance = b.weaponEnchantChance;
+        this.armorEnchantChance = b.armorEnchantChance;
+
+        this.killerBunnyEnabled = b.killerBunnyEnabled;
+        this.killerBunnyChance = b.killerBunnyChance;
+        this.killerBunnyApplyNatural = b.killerBunnyApplyNatural;
+        this.killerBunnyApplySpawner = b.killerBunnyApplySpawner;
+        this.killerBunnyApplySpawnEgg = b.killerBunnyApplySpawnEgg;
+
+        this.jockeyChances = Map.copyOf(b.jockeyChances);
+
+        EquipmentProfile[] profiles = new EquipmentProfile[EntityType.values().length];
+        boolean defaultEnchants = Arrays.stream(b.defaultEnchantTables).anyMatch(Objects::nonNull);
+        Arrays.fill(profiles, defaultEnchants
+                ? new EquipmentProfile(false, EquipmentProfile.newTables(), b.defaultEnchantTables)
+                : EquipmentProfile.EMPTY);
+        Set<EntityType> profiled = EnumSet.noneOf(EntityType.class);
+        profiled.addAll(b.spawnChances.keySet());
+        profiled.addAll(b.disabledEntities);
+        profiled.addAll(b.enchantTables.keySet());
+        profiled.removeAll(b.reusedProfiles.keySet());
+        b.reusedProfiles.forEach((type, profile) -> profiles[type.ordinal()] = profile);
+        for (EntityType type : profiled) {
+            Map<String, Map<Material, Double>> slotMap = b.spawnChances.getOrDefault(type, Collections.emptyMap());
+            Map<String, Double> specials = b.specialChances.getOrDefault(type, Collections.emptyMap());
+            WeightedTable<EquipmentChoice>[] tables = EquipmentProfile.newTables();
+            for (Map.Entry<String, Map<Material, Double>> slot : slotMap.entrySet()) {
+                EquipmentSlot es = EquipmentProfile.slotForKey(slot.getKey());
+                if (es == null) continue;
+                // special 토큰은 무기 슬롯에서만 아이템 뒤에 이어서 누적됨 (기존 getRandomItem과 동일)
+                tables[es.ordinal()] = compileEquipment(slot.getValue(), es == EquipmentSlot.HAND ? specials : null);
+            }
+            if (tables[EquipmentSlot.HAND.ordinal()] == null && !specials.isEmpty()) {
+                tables[EquipmentSlot.HAND.ordinal()] = compileEquipment(null, specials);
+            }
+            EnchantTable[] enchants = b.defaultEnchantTables.clone();
+            EnchantTable[] own = b.enchantTables.get(type);
+            if (own != null) {
+                for (int k = 0; k < enchants.length; k++) if (own[k] != null) enchants[k] = own[k];
+            }
+            profiles[type.ordinal()] = new EquipmentProfile(b.disabledEntities.contains(type), tables, enchants);
+        }
+        this.equipmentProfiles = profiles;
+
+        this.disabledEntities = Collections.unmodifiableSet(b.disabledEntities.isEmpty()
+                ? EnumSet.noneOf(EntityType.class) : EnumSet.copyOf(b.disabledEntities));
+        this.naturalSpawnChance = freezeEnum(b.naturalSpawnChance, EntityType.class);
+
+        Map<EntityType, Map<Material, Double>> drops = new EnumMap<>(EntityType.class);
+        b.dropChances.forEach((type, m) -> drops.put(type, freezeEnum(m, Material.class)));
+        this.dropChances = Collections.unmodifiableMap(drops);
+
+        Map<EntityType, WeightedTable<Double>> scales = new EnumMap<>(EntityType.class);
+        scales.putAll(b.reusedScaleTables);
+        b.scaleChances.forEach((type, m) -> {
+            WeightedTable<Double> table = WeightedTable.compile(m);
+            if (table != null) scales.put(type, table);
+        });
+        this.scaleTables = Collections.unmodifiableMap(scales);
+
+        if (b.reusedReplacementTables != null) {
+            this.replacementTables = b.reusedReplacementTables;
+        } else {
+            Map<EntityType, WeightedTable<EntityType>> rep = new EnumMap<>(EntityType.class);
+            b.replacementChances.forEach((type, m) -> {
+                WeightedTable<EntityType> table = WeightedTable.compile(m);
+                if (table != null) rep.put(type, table);
+            });
+            this.replacementTables = Collections.unmodifiableMap(rep);
+        }
+        this.replacementApplyNatural = b.replacementApplyNatural;
+        this.replacementApplySpawner = b.replacementApplySpawner;
+        this.replacementApplySpawnEgg = b.replacementApplySpawnEgg;
+
+        this.generalBlockHelmetChances = freezeEnum(b.generalBlockHelmetChances, Material.class);
+        this.skeletonBlockHelmetChances = freezeEnum(b.skeletonBlockHelmetChances, Material.class);
+        this.zombieBlockHelmets = new BlockHelmets(generalBlockHelmetChances);
+        Map<Material, Double> skeletonHelmets = new EnumMap<>(Material.class);
+        skeletonHelmets.putAll(generalBlockHelmetChances);
+        skeletonHelmets.putAll(skeletonBlockHelmetChances);
+        this.skeletonBlockHelmets = new BlockHelmets(skeletonHelmets);
+        this.blockHelmetEnabled = b.blockHelmetEnabled;
+
+        this.boneInHandChance = b.boneInHandChance;
+        this.drownedChannelingChance = b.drownedChannelingChance;
+        this.chargedCreeperChance = b.chargedCreeperChance;
+
+        this.vindicatorHandItem = b.vindicatorHandItem;
+        this.illusionerHandItem = b.illusionerHandItem;
+        this.illusionerFlameChance = b.illusionerFlameChance;
+
+        this.zombieSpearChance = b.zombieSpearChance;
+        this.huskSpearChance = b.huskSpearChance;
+        this.zombieHorseJockeyChance = b.zombieHorseJockeyChance;
+        this.huskCamelJockeyChance = b.huskCamelJockeyChance;
+        this.drownedNautilusJockeyChance = b.drownedNautilusJockeyChance;
+
+        this.piglinGoldSpearChance = b.piglinGoldSpearChance;
+        this.zombifiedPiglinGoldSpearChance = b.zombifiedPiglinGoldSpearChance;
+
+        this.profiles = compileProfiles(this, b);
+    }
+
+    /**
+     * 프로필마다 하위 스냅샷을 만들고 바이옴 이름을 ordinal로 바꿈 (알 수 없는 바이옴은 건너뜀).
+     * 하위 스냅샷의 전역 설정은 기본 빌더 값으로 맞춤 → 어느 스냅샷을 읽어도 같은 값
+     */
+    @SuppressWarnings("deprecation") // Biome.ordinal(): 레지스트리 순번, 배열 인덱스로만 사용
+    private static ProfileTable compileProfiles(RuleSnapshot base, Builder b) {
+        List<Builder.Profile> src = b.profiles;
+        if (src.isEmpty()) return ProfileTable.NONE;
+        List<ProfileTable.Def> defs = new ArrayList<>();
+        for (Builder.Profile p : src) {
+            int[] biomes = null;
+            if (!p.biomes.isEmpty()) {
+                biomes = p.biomes.stream()
+                        .map(ProfileTable::biome)
+                        .filter(Objects::nonNull)
+                        .mapToInt(Biome::ordinal)
+                        .toArray();
+                if (biomes.length == 0) continue;
+            }
+            p.rules.copyGlobalsFrom(b);
+            defs.add(new ProfileTable.Def(Set.copyOf(p.worlds), biomes, p.rules.build()));
+        }
+        return new ProfileTable(base, defs);
+    }
+
+    /**
+     * 슬롯 아이템 확률 + (무기 슬롯이면) special 토큰을 하나의 테이블로 컴파일.
+     * TRIDENT_CHANNELING 외의 special 키는 아무 아이템도 주지 않으므로 제외.
+     */
+    private static WeightedTable<EquipmentChoice> compileEquipment(Map<Material, Double> items, Map<String, Double> specials) {
+        Map<EquipmentChoice, Double> ordered = new LinkedHashMap<>();
+        if (items != null) {
+            items.forEach((mat, chance) -> ordered.put(EquipmentChoice.of(mat), chance));
+        }
+        if (specials != null) {
+            Double channeling = specials.get("TRIDENT_CHANNELING");
+            if (channeling != null) ordered.put(EquipmentChoice.channelingTrident(), channeling);
+        }
+        return WeightedTable.compile(ordered);
+    }
+
+    /** 슬롯 → 제한 값을 DensityTracker.SLOT_COUNT 길이 배열로 (미설정 슬롯은 NO_CAP) */
+    private static int[] compileCaps(Map<Integer, Integer> caps) {
+        int[] out = new int[DensityTracker.SLOT_COUNT];
+        Arrays.fill(out, DensityTracker.NO_CAP);
+        caps.forEach((slot, cap) -> out[slot] = Math.max(0, cap));
+        return out;
+    }
+
+    private static <K extends Enum<K>, V> Map<K, V> freezeEnum(Map<K, V> src, Class<K> keyType) {
+        Map<K, V> copy = new EnumMap<>(keyType);
+        copy.putAll(src);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    // ===== Getter =====
+
+    // 기본 스폰/설정
+    public double getMobSpawnMultiplier() { return mobSpawnMultiplier; }
+
+    // 성능
+    public boolean hasRandomSeed() { return randomSeed != null; }
+    public long getRandomSeed() { return randomSeed != null ? randomSeed : 0L; }
+    public int getEquipmentPerTick() { return equipmentPerTick; }
+    /** 스포너 하나가 분당 커스텀 장비를 적용하는 최대 몹 수 (0이면 제한 없음) */
+    public int getSpawnerEquipmentPerMinute() { return spawnerEquipmentPerMinute; }
+    /** 엔티티 타입별로 미리 굴려 두는 장비 수 (0이면 풀 없이 매번 굴림) */
+    public int getLoadoutPoolSize() { return loadoutPoolSize; }
+
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+    public boolean isMetricsHttpEnabled() { return metricsHttpEnabled; }
+    public String getMetricsHttpBind() { return metricsHttpBind; }
+    public int getMetricsHttpPort() { return metricsHttpPort; }
+    public int getMetricsHttpRefreshSeconds() { return metricsHttpRefreshSeconds; }
+    public boolean isAutoReloadEnabled() { return autoReloadEnabled; }
+    public long getAutoReloadDebounceMillis() { return autoReloadDebounceMillis; }
+
+    // 스폰 거버너
+    public boolean isGovernorEnabled()       { return governorEnabled; }
+    public double  getGovernorMsptSoft()     { return governorMsptSoft; }
+    public double  getGovernorMsptHard()     { return governorMsptHard; }
+    public long    getGovernorMobsSoft()     { return governorMobsSoft; }
+    public long    getGovernorMobsHard()     { return governorMobsHard; }
+    public double  getGovernorBackoffRate()  { return governorBackoffRate; }
+    public double  getGovernorRecoverRate()  { return governorRecoverRate; }
+
+    // 밀도 제한
+    public boolean isDensityCapsEnabled()        { return densityCapsEnabled; }
+    public int     getChunkDensityCap(int slot)  { return chunkDensityCaps[slot]; }
+    public int     getRegionDensityCap(int slot) { return regionDensityCaps[slot]; }
+
+    // 인첸트 확률
+    public double getWeaponEnchantChance() { return weaponEnchantChance; }
+    public double getArmorEnchantChance()  { return armorEnchantChance; }
+
+    // Killer Bunny
+    public boolean isKillerBunnyEnabled()         { return killerBunnyEnabled; }
+    public double  getKillerBunnyChance()         { return killerBunnyChance; }
+    public boolean isKillerBunnyApplyNatural()    { return killerBunnyApplyNatural; }
+    public boolean isKillerBunnyApplySpawner()    { return killerBunnyApplySpawner; }
+    public boolean isKillerBunnyApplySpawnEgg()   { return killerBunnyApplySpawnEgg; }
+
+    // 조키/스폰/특수/비활성/자연 제한
+    public Map<String, Double> getJockeyChances() { return jockeyChances; }
+    public EquipmentProfile getEquipmentProfile(EntityType type) { return equipmentProfiles[type.ordinal()]; }
+    public Set<EntityType> getDisabledEntities()                                  { return disabledEntities; }
+    public Map<EntityType, Double> getNaturalSpawnChance()                        { return naturalSpawnChance; }
+
+    // 드랍 아이템
+    public Map<EntityType, Map<Material, Double>> getDropChances() { return dropChances; }
+
+    // 스케일
+    public Map<EntityType, WeightedTable<Double>> getScaleTables() { return scaleTables; }
+
+    // 대체 스폰
+    public Map<EntityType, WeightedTable<EntityType>> getReplacementTables() { return replacementTables; }
+    public boolean isReplacementApplyNatural()   { return replacementApplyNatural; }
+    public boolean isReplacementApplySpawner()   { return replacementApplySpawner; }
+    public boolean isReplacementApplySpawnEgg()  { return replacementApplySpawnEgg; }
+
+    // 블록 헬멧
+    public Map<Material, Double> getGeneralBlockHelmetChances()  { return generalBlockHelmetChances; }
+    public Map<Material, Double> getSkeletonBlockHelmetChances() { return skeletonBlockHelmetChances; }
+    public boolean isBlockHelmetEnabled()                         { return blockHelmetEnabled; }
+    BlockHelmets getZombieBlockHelmets()                          { return zombieBlockHelmets; }
+    BlockHelmets getSkeletonBlockHelmets()                        { return skeletonBlockHelmets; }
+
+    /** 블록 헬멧 후보 (나란한 배열, Material 순서) */
+    static final class BlockHelmets {
+        private final Material[] blocks;
+        private final double[] chances;
+
+        BlockHelmets(Map<Material, Double> chances) {
+            this.blocks = chances.keySet().toArray(new Material[0]);
+            this.chances = new double[blocks.length];
+            for (int i = 0; i < blocks.length; i++) this.chances[i] = chances.get(blocks[i]);
+        }
+
+        int size()               { return blocks.length; }
+        Material block(int i)    { return blocks[i]; }
+        double chance(int i)     { return chances[i]; }
+    }
+
+    // 월드/바이옴별 프로필 (프로필이 없으면 this, 조회는 월드 UID + 바이옴 배열 인덱스)
+    public boolean hasProfiles() { return !profiles.isEmpty(); }
+
+    public RuleSnapshot profileFor(Entity entity) {
+        if (profiles.isEmpty()) return this;
+        return profileAt(entity.getLocation());
+    }
+
+    public RuleSnapshot profileAt(Location loc) {
+        if (profiles.isEmpty() || loc.getWorld() == null) return this;
+        return profiles.resolve(loc.getWorld(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    RuleSnapshot profileAt(World world, int x, int y, int z) {
+        return profiles.isEmpty() ? this : profiles.resolve(world, x, y, z);
+    }
+
+    // 월드 화이트리스트
+    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+    public boolean isWorldEnabled(World world) {
+        return world != null && worldStates.get(world).enabled;
+    }
+
+    /**
+     * 자연 스폰을 허용하는 최대 밝기 (엔티티별 > 월드별 > 전역, 15면 필터 없음).
+     * 월드별/전역 값은 바닐라 어둠 규칙을 쓰는 몹(darknessRule)에만 적용, 그 밖의 몹은 엔티티별로 지정했을 때만.
+     */
+    public int getLightThreshold(World world, EntityType type, boolean darknessRule) {
+        int light = entityLightThresholds[type.ordinal()];
+        if (light >= 0) return light;
+        return darknessRule ? worldStates.get(world).lightThreshold : 15;
+    }
+
+    /** 월드 하나를 미리 판정 (WorldLoadEvent, 프로필 스냅샷 포함) */
+    void resolveWorld(World world) {
+        worldStates.resolve(world);
+        for (RuleSnapshot profile : profiles.snapshots()) profile.worldStates.resolve(world);
+    }
+
+    /** 리로드 직후 이미 로드된 월드를 전부 미리 판정 (프로필 스냅샷 포함) */
+    void resolveWorlds(Collection<? extends World> worlds) {
+        worldStates.resolveAll(worlds);
+        for (RuleSnapshot profile : profiles.snapshots()) profile.worldStates.resolveAll(worlds);
+    }
+
+    /** 언로드된 월드의 캐시 제거 (같은 이름으로 다시 로드되면 UID가 달라짐, 프로필 스냅샷 포함) */
+    void forgetWorld(World world) {
+        worldStates.forget(world);
+        profiles.forget(world);
+        for (RuleSnapshot profile : profiles.snapshots()) profile.worldStates.forget(world);
+    }
+
+    // EquipmentManager 전역 특수 확률
+    public double getBoneInHandChance()        { return boneInHandChance; }
+    public double getDrownedChannelingChance() { return drownedChannelingChance; }
+    public double getChargedCreeperChance()    { return chargedCreeperChance; }
+
+    // Vindicator/Illusioner 손 아이템
+    public Material getVindicatorHandItem() { return vindicatorHandItem; }
+    public Material getIllusionerHandItem() { return illusionerHandItem; }
+    public double getIllusionerFlameChance() { return illusionerFlameChance; }
+
+    // 1.21.11+ 좀비/허스크 Spear(창)
+    public double getZombieSpearChance() { return zombieSpearChance; }
+    public double getHuskSpearChance() { return huskSpearChance; }
+
+    // 1.21.11+ 조키
+    public double getZombieHorseJockeyChance() { return zombieHorseJockeyChance; }
+    public double getHuskCamelJockeyChance() { return huskCamelJockeyChance; }
+    public double getDrownedNautilusJockeyChance() { return drownedNautilusJockeyChance; }
+
+    // 1.21.11+ 피글린/좀비화 피글린 금창(Golden Spear)
+    public double getPiglinGoldSpearChance() { return piglinGoldSpearChance; }
+    public double getZombifiedPiglinGoldSpearChance() { return zombifiedPiglinGoldSpearChance; }
+
+    /**
+     * reload() 동안에만 쓰이는 가변 빌더. 스레드 간 공유되지 않음.
+     */
+    static final class Builder {
+        Set<String> enabledWorlds = new HashSet<>(Arrays.asList("world", "world_nether", "world_the_end"));
+
+        int lightThreshold = 15;
+        final Map<String, Integer> worldLightThresholds = new HashMap<>();
+        final Map<EntityType, Integer> entityLightThresholds = new EnumMap<>(EntityType.class);
+
+        double mobSpawnMultiplier = 1.0;
+
+        Long randomSeed = null;
+        int equipmentPerTick = 256;
+        int spawnerEquipmentPerMinute = 0;
+        int loadoutPoolSize = 64;
+        boolean metricsEnabled = true;
+        boolean metricsHttpEnabled = false;
+        String metricsHttpBind = "127.0.0.1";
+        int metricsHttpPort = 9464;
+        int metricsHttpRefreshSeconds = 5;
+        boolean autoReloadEnabled = false;
+        long autoReloadDebounceMillis = 500;
+
+        boolean governorEnabled = false;
+        double governorMsptSoft = 40.0;
+        double governorMsptHard = 50.0;
+        long governorMobsSoft = 150;
+        long governorMobsHard = 300;
+        double governorBackoffRate = 0.5;
+        double governorRecoverRate = 0.1;
+
+        boolean densityCapsEnabled = false;
+        Map<Integer, Integer> chunkDensityCaps = new HashMap<>();
+        Map<Integer, Integer> regionDensityCaps = new HashMap<>();
+
+        double weaponEnchantChance = 1.0;
+        double armorEnchantChance  = 1.0;
+
+        boolean killerBunnyEnabled = true;
+        double  killerBunnyChance  = 0.001;
+        boolean killerBunnyApplyNatural  = true;
+        boolean killerBunnyApplySpawner  = false;
+        boolean killerBunnyApplySpawnEgg = true;
+
+        final Map<String, Double> jockeyChances = new HashMap<>();
+
+        final Map<EntityType, Map<String, Map<Material, Double>>> spawnChances = new EnumMap<>(EntityType.class);
+        final Map<EntityType, Map<String, Double>> specialChances = new EnumMap<>(EntityType.class);
+        final Set<EntityType> disabledEntities = EnumSet.noneOf(EntityType.class);
+        final Map<EntityType, Double> naturalSpawnChance = new EnumMap<>(EntityType.class);
+
+        // enchant-pools: 종류(EnchantTable.KINDS)별 표, null이면 다음 단계 (엔티티 → default → 내장 기본 표)
+        final EnchantTable[] defaultEnchantTables = new EnchantTable[EnchantTable.KINDS];
+        final Map<EntityType, EnchantTable[]> enchantTables = new EnumMap<>(EntityType.class);
+
+        final Map<EntityType, Map<Material, Double>> dropChances = new EnumMap<>(EntityType.class);
+
+        final Map<EntityType, Map<Double, Double>> scaleChances = new EnumMap<>(EntityType.class);
+
+        final Map<EntityType, Map<EntityType, Double>> replacementChances = new EnumMap<>(EntityType.class);
+
+        // 이전 스냅샷에서 그대로 가져오는 컴파일 결과 (바뀌지 않은 섹션, ConfigManager가 채움)
+        final Map<EntityType, EquipmentProfile> reusedProfiles = new EnumMap<>(EntityType.class);
+        final Map<EntityType, WeightedTable<Double>> reusedScaleTables = new EnumMap<>(EntityType.class);
+        Map<EntityType, WeightedTable<EntityType>> reusedReplacementTables = null;
+        boolean replacementApplyNatural  = true;
+        boolean replacementApplySpawner  = false;
+        boolean replacementApplySpawnEgg = false;
+
+        final Map<Material, Double> generalBlockHelmetChances  = new EnumMap<>(Material.class);
+        final Map<Material, Double> skeletonBlockHelmetChances = new EnumMap<>(Material.class);
+        boolean blockHelmetEnabled = true;
+
+        double boneInHandChance        = 0.0;
+        double drownedChannelingChance = 0.0;
+        double chargedCreeperChance    = 0.0;
+
+        Material vindicatorHandItem = null;
+        Material illusionerHandItem = null;
+        double illusionerFlameChance = 0.0;
+
+        double zombieSpearChance = 0.0;
+        double huskSpearChance = 0.0;
+        double zombieHorseJockeyChance = 0.0;
+        double huskCamelJockeyChance = 0.0;
+        double drownedNautilusJockeyChance = 0.0;
+
+        double piglinGoldSpearChance = 0.0;
+        double zombifiedPiglinGoldSpearChance = 0.0;
+
+        // profiles.<name> (설정 파일 순서 유지)
+        final List<Profile> profiles = new ArrayList<>();
+
+        /** 프로필 하나의 입력 값 (rules는 기본 설정 + 덮어쓰기로 채운 빌더, 자기 profiles는 비어 있음) */
+        static final class Profile {
+            final String name;
+            final Set<String> worlds;
+            final List<String> biomes;
+            final Builder rules;
+
+            Profile(String name, Set<String> worlds, List<String> biomes, Builder rules) {
+                this.name = name;
+                this.worlds = worlds;
+                this.biomes = biomes;
+                this.rules = rules;
+            }
+        }
+
+        /** 프로필에서 바꿀 수 없는 전역 설정을 base에서 복사 (월드 목록, 시드, 성능, 메트릭, 자동 리로드, 거버너, 밀도 제한) */
+        void copyGlobalsFrom(Builder base) {
+            enabledWorlds = new HashSet<>(base.enabledWorlds);
+            randomSeed = base.randomSeed;
+            equipmentPerTick = base.equipmentPerTick;
+            spawnerEquipmentPerMinute = base.spawnerEquipmentPerMinute;
+            loadoutPoolSize = base.loadoutPoolSize;
+            metricsEnabled = base.metricsEnabled;
+            metricsHttpEnabled = base.metricsHttpEnabled;
+            metricsHttpBind = base.metricsHttpBind;
+            metricsHttpPort = base.metricsHttpPort;
+            metricsHttpRefreshSeconds = base.metricsHttpRefreshSeconds;
+            autoReloadEnabled = base.autoReloadEnabled;
+            autoReloadDebounceMillis = base.autoReloadDebounceMillis;
+            governorEnabled = base.governorEnabled;
+            governorMsptSoft = base.governorMsptSoft;
+            governorMsptHard = base.governorMsptHard;
+            governorMobsSoft = base.governorMobsSoft;
+            governorMobsHard = base.governorMobsHard;
+            governorBackoffRate = base.governorBackoffRate;
+            governorRecoverRate = base.governorRecoverRate;
+            densityCapsEnabled = base.densityCapsEnabled;
+            chunkDensityCaps = new HashMap<>(base.chunkDensityCaps);
+            regionDensityCaps = new HashMap<>(base.regionDensityCaps);
+        }
+
+        RuleSnapshot build() {
+            return new RuleSnapshot(this);
+        }
+    }
+}
\ No newline at end of file
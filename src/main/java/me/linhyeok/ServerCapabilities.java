@@ -0,0 +1,103 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * 서버 버전에 따라 있을 수도 없을 수도 있는 enum 값을 onEnable에서 한 번만 확인.
+ * - 1.21.11+ 전용 값(PARCHED, ZOMBIE_NAUTILUS, SPEAR, GOLDEN_SPEAR)은 없으면 null
+ * - 몹 계열(스켈레톤/좀비/피글린)은 미리 만든 EnumSet → 핫패스에서 valueOf/예외 없음
+ */
+public final class ServerCapabilities {
+
+    // ==== 버전 의존 핸들 (없으면 null) ====
+    private final EntityType parched;
+    private final EntityType zombieNautilus;
+    private final Material spear;
+    private final Material goldenSpear;
+
+    // ==== 몹 계열 ====
+    private final Set<EntityType> skeletonFamily;
+    private final Set<EntityType> zombieFamily;
+    private final Set<EntityType> piglinFamily;
+    // 바닐라 어둠 규칙(Monster.isDarkEnoughToSpawn)으로 자연 스폰되는 몹
+    private final Set<EntityType> darknessSpawners;
+
+    private ServerCapabilities(EntityType parched, EntityType zombieNautilus, Material spear, Material goldenSpear) {
+        this.parched = parched;
+        this.zombieNautilus = zombieNautilus;
+        this.spear = spear;
+        this.goldenSpear = goldenSpear;
+
+        EnumSet<EntityType> skeletons = EnumSet.of(
+                EntityType.SKELETON, EntityType.STRAY, EntityType.WITHER_SKELETON, EntityType.BOGGED);
+        if (parched != null) skeletons.add(parched);
+        this.skeletonFamily = Collections.unmodifiableSet(skeletons);
+
+        this.zombieFamily = Collections.unmodifiableSet(EnumSet.of(
+                EntityType.ZOMBIE, EntityType.HUSK, EntityType.DROWNED,
+                EntityType.ZOMBIE_VILLAGER, EntityType.ZOMBIFIED_PIGLIN));
+
+        this.piglinFamily = Collections.unmodifiableSet(EnumSet.of(
+                EntityType.PIGLIN, EntityType.PIGLIN_BRUTE));
+
+        EnumSet<EntityType> darkness = EnumSet.of(
+                EntityType.ZOMBIE, EntityType.HUSK, EntityType.DROWNED, EntityType.ZOMBIE_VILLAGER,
+                EntityType.SKELETON, EntityType.STRAY, EntityType.BOGGED, EntityType.WITHER_SKELETON,
+                EntityType.CREEPER, EntityType.SPIDER, EntityType.CAVE_SPIDER, EntityType.ENDERMAN, EntityType.WITCH);
+        if (parched != null) darkness.add(parched);
+        this.darknessSpawners = Collections.unmodifiableSet(darkness);
+    }
+
+    /** 현재 서버에서 사용 가능한 값들을 확인 (onEnable에서 한 번) */
+    public static ServerCapabilities probe(Logger logger) {
+        EntityType parched = entityType("PARCHED");
+        EntityType zombieNautilus = entityType("ZOMBIE_NAUTILUS");
+        Material spear = material("SPEAR");
+        Material goldenSpear = material("GOLDEN_SPEAR");
+
+        if (parched == null) logger.info("PARCHED entity type not available (requires 1.21.11+)");
+        if (zombieNautilus == null) logger.info("ZOMBIE_NAUTILUS entity type not available (requires 1.21.11+)");
+        if (spear == null) logger.info("SPEAR material not available (requires 1.21.11+)");
+        if (goldenSpear == null) logger.info("GOLDEN_SPEAR material not available (requires 1.21.11+)");
+
+        return new ServerCapabilities(parched, zombieNautilus, spear, goldenSpear);
+    }
+
+    private static EntityType entityType(String name) {
+        try {
+            return EntityType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Material material(String name) {
+        try {
+            return Material.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ===== Getter =====
+
+    // 1.21.11+ 핸들 (없으면 null)
+    public EntityType getParched()       { return parched; }
+    public EntityType getZombieNautilus() { return zombieNautilus; }
+    public Material getSpear()           { return spear; }
+    public Material getGoldenSpear()     { return goldenSpear; }
+
+    // 몹 계열
+    public boolean isSkeletonFamily(EntityType type) { return skeletonFamily.contains(type); }
+    public boolean isZombieFamily(EntityType type)   { return zombieFamily.contains(type); }
+    public boolean isPiglinFamily(EntityType type)   { return piglinFamily.contains(type); }
+
+    /** 바닐라에서 어두운 곳에만 자연 스폰되는 몹인지 (light-threshold 기본 적용 대상) */
+    public boolean usesDarknessSpawnRule(EntityType type) { return darknessSpawners.contains(type); }
+}
\ No newline at end of file
@@ -0,0 +1,538 @@
+package me.linhyeok;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.plugin.Plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * 컴파일된 규칙 캐시 (plugins/DynamicMob/compiled-rules.bin).
+ * - 키: SHA-256(형식 버전 + 서버 버전 + 플러그인 버전 + 번들/사용자 config.yml + rules/*.yml)
+ * - 내용: YAML을 읽고 검증한 결과(RuleSnapshot.Builder 값) + 섹션 지문
+ *   → 시작 시 키가 같으면 YAML 파싱/문자열→enum 변환 없이 mmap으로 읽어서 바로 build()
+ * - 확률 테이블(alias)은 저장하지 않고 build()에서 다시 만듦 (값에서 바로 나오고 빠름)
+ * - enum은 ordinal로 저장 (서버 버전이 키에 들어가므로 안전)
+ * - 읽기 실패/형식 불일치는 조용히 캐시 미스로 처리
+ * - RuleSnapshot.Builder에 필드를 추가하면 write/read에도 추가하고 FORMAT을 올릴 것
+ */
+final class SnapshotCache {
+    static final String FILE_NAME = "compiled-rules.bin";
+
+    private static final int MAGIC = 0x444D5243; // "DMRC"
+    private static final int FORMAT = 6;
+    private static final int KEY_LENGTH = 32;
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final EntityType[] TYPES = EntityType.values();
+
+    /** 캐시에서 읽은 값 */
+    static final class Entry {
+        final RuleSnapshot.Builder builder;
+        final Map<String, Long> fingerprints;
+
+        Entry(RuleSnapshot.Builder builder, Map<String, Long> fingerprints) {
+            this.builder = builder;
+            this.fingerprints = fingerprints;
+        }
+    }
+
+    private final Plugin plugin;
+    private final File file;
+    private byte[] savedKey;
+
+    SnapshotCache(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+    }
+
+    /** 현재 설정 파일들의 키. 읽을 수 없으면 null (캐시 사용 안 함) */
+    byte[] key() {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(ByteBuffer.allocate(4).putInt(FORMAT).array());
+            digestString(sha, Bukkit.getVersion());
+            digestString(sha, plugin.getPluginMeta() != null ? plugin.getPluginMeta().getVersion() : null);
+            try (InputStream bundled = plugin.getResource("config.yml")) {
+                digestBytes(sha, bundled != null ? bundled.readAllBytes() : new byte[0]);
+            }
+            File config = new File(plugin.getDataFolder(), "config.yml");
+            digestBytes(sha, config.isFile() ? Files.readAllBytes(config.toPath()) : new byte[0]);
+
+            File[] rules = new File(plugin.getDataFolder(), RuleFiles.DIRECTORY)
+                    .listFiles((d, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
+            if (rules != null) {
+                Arrays.sort(rules);
+                for (File f : rules) {
+                    digestString(sha, f.getName());
+                    digestBytes(sha, Files.readAllBytes(f.toPath()));
+                }
+            }
+            return sha.digest();
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** 키가 같은 캐시가 있으면 읽음, 없거나 깨졌으면 null */
+    synchronized Entry load(byte[] key) {
+        if (key == null || !file.isFile()) return null;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT) return null;
+            byte[] stored = new byte[KEY_LENGTH];
+            buf.get(stored);
+            if (!Arrays.equals(stored, key)) return null;
+            Entry entry = read(buf);
+            savedKey = key;
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().fine("Ignoring unreadable " + FILE_NAME + ": " + e);
+            return null;
+        }
+    }
+
+    /** 오류 없이 컴파일된 결과만 저장. 같은 키로 이미 저장했으면 생략 */
+    synchronized void save(byte[] key, RuleSnapshot.Builder b, Map<String, Long> fingerprints) {
+        if (key == null || Arrays.equals(key, savedKey)) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.write(key);
+            write(out, b, fingerprints);
+            out.flush();
+
+            Path target = file.toPath();
+            Path tmp = target.resolveSibling(FILE_NAME + ".tmp");
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedKey = key;
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Could not write " + FILE_NAME + ": " + e.getMessage());
+        }
+    }
+
+    // ===== 쓰기 =====
+
+    private static void write(DataOutputStream out, RuleSnapshot.Builder b, Map<String, Long> fingerprints) throws IOException {
+        writeRules(out, b);
+        out.writeInt(fingerprints.size());
+        for (Map.Entry<String, Long> e : fingerprints.entrySet()) {
+            writeString(out, e.getKey());
+            out.writeLong(e.getValue());
+        }
+    }
+
+    private static void writeRules(DataOutputStream out, RuleSnapshot.Builder b) throws IOException {
+        out.writeInt(b.enabledWorlds.size());
+        for (String w : b.enabledWorlds) writeString(out, w);
+        out.writeDouble(b.mobSpawnMultiplier);
+        out.writeBoolean(b.randomSeed != null);
+        out.writeLong(b.randomSeed != null ? b.randomSeed : 0L);
+
+        out.writeInt(b.equipmentPerTick);
+        out.writeInt(b.spawnerEquipmentPerMinute);
+        out.writeInt(b.loadoutPoolSize);
+        out.writeBoolean(b.metricsEnabled);
+        out.writeBoolean(b.metricsHttpEnabled);
+        writeString(out, b.metricsHttpBind);
+        out.writeInt(b.metricsHttpPort);
+        out.writeInt(b.metricsHttpRefreshSeconds);
+        out.writeBoolean(b.autoReloadEnabled);
+        out.writeLong(b.autoReloadDebounceMillis);
+
+        out.writeBoolean(b.governorEnabled);
+        out.writeDouble(b.governorMsptSoft);
+        out.writeDouble(b.governorMsptHard);
+        out.writeLong(b.governorMobsSoft);
+        out.writeLong(b.governorMobsHard);
+        out.writeDouble(b.governorBackoffRate);
+        out.writeDouble(b.governorRecoverRate);
+
+        out.writeBoolean(b.densityCapsEnabled);
+        writeIntMap(out, b.chunkDensityCaps);
+        writeIntMap(out, b.regionDensityCaps);
+
+        out.writeDouble(b.weaponEnchantChance);
+        out.writeDouble(b.armorEnchantChance);
+
+        out.writeBoolean(b.killerBunnyEnabled);
+        out.writeDouble(b.killerBunnyChance);
+        out.writeBoolean(b.killerBunnyApplyNatural);
+        out.writeBoolean(b.killerBunnyApplySpawner);
+        out.writeBoolean(b.killerBunnyApplySpawnEgg);
+
+        writeStringDoubleMap(out, b.jockeyChances);
+
+        out.writeInt(b.spawnChances.size());
+        for (Map.Entry<EntityType, Map<String, Map<Material, Double>>> e : b.spawnChances.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            out.writeInt(e.getValue().size());
+            for (Map.Entry<String, Map<Material, Double>> slot : e.getValue().entrySet()) {
+                writeString(out, slot.getKey());
+                writeEnumDoubleMap(out, slot.getValue());
+            }
+        }
+        out.writeInt(b.specialChances.size());
+        for (Map.Entry<EntityType, Map<String, Double>> e : b.specialChances.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            writeStringDoubleMap(out, e.getValue());
+        }
+        out.writeInt(b.disabledEntities.size());
+        for (EntityType t : b.disabledEntities) out.writeInt(t.ordinal());
+        writeEnumDoubleMap(out, b.naturalSpawnChance);
+        out.writeInt(b.lightThreshold);
+        out.writeInt(b.worldLightThresholds.size());
+        for (Map.Entry<String, Integer> e : b.worldLightThresholds.entrySet()) {
+            writeString(out, e.getKey());
+            out.writeInt(e.getValue());
+        }
+        out.writeInt(b.entityLightThresholds.size());
+        for (Map.Entry<EntityType, Integer> e : b.entityLightThresholds.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            out.writeInt(e.getValue());
+        }
+        writeEnchantTables(out, b.defaultEnchantTables);
+        out.writeInt(b.enchantTables.size());
+        for (Map.Entry<EntityType, EnchantTable[]> e : b.enchantTables.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            writeEnchantTables(out, e.getValue());
+        }
+
+        out.writeInt(b.dropChances.size());
+        for (Map.Entry<EntityType, Map<Material, Double>> e : b.dropChances.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            writeEnumDoubleMap(out, e.getValue());
+        }
+        out.writeInt(b.scaleChances.size());
+        for (Map.Entry<EntityType, Map<Double, Double>> e : b.scaleChances.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            out.writeInt(e.getValue().size());
+            for (Map.Entry<Double, Double> s : e.getValue().entrySet()) {
+                out.writeDouble(s.getKey());
+                out.writeDouble(s.getValue());
+            }
+        }
+        out.writeInt(b.replacementChances.size());
+        for (Map.Entry<EntityType, Map<EntityType, Double>> e : b.replacementChances.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            writeEnumDoubleMap(out, e.getValue());
+        }
+        out.writeBoolean(b.replacementApplyNatural);
+        out.writeBoolean(b.replacementApplySpawner);
+        out.writeBoolean(b.replacementApplySpawnEgg);
+
+        writeEnumDoubleMap(out, b.generalBlockHelmetChances);
+        writeEnumDoubleMap(out, b.skeletonBlockHelmetChances);
+        out.writeBoolean(b.blockHelmetEnabled);
+
+        out.writeDouble(b.boneInHandChance);
+        out.writeDouble(b.drownedChannelingChance);
+        out.writeDouble(b.chargedCreeperChance);
+
+        out.writeInt(b.vindicatorHandItem != null ? b.vindicatorHandItem.ordinal() : -1);
+        out.writeInt(b.illusionerHandItem != null ? b.illusionerHandItem.ordinal() : -1);
+        out.writeDouble(b.illusionerFlameChance);
+
+        out.writeDouble(b.zombieSpearChance);
+        out.writeDouble(b.huskSpearChance);
+        out.writeDouble(b.zombieHorseJockeyChance);
+        out.writeDouble(b.huskCamelJockeyChance);
+        out.writeDouble(b.drownedNautilusJockeyChance);
+        out.writeDouble(b.piglinGoldSpearChance);
+        out.writeDouble(b.zombifiedPiglinGoldSpearChance);
+
+        // 프로필은 같은 형식으로 재귀 (프로필 안의 profiles는 항상 비어 있음)
+        out.writeInt(b.profiles.size());
+        for (RuleSnapshot.Builder.Profile p : b.profiles) {
+            writeString(out, p.name);
+            out.writeInt(p.worlds.size());
+            for (String w : p.worlds) writeString(out, w);
+            out.writeInt(p.biomes.size());
+            for (String biome : p.biomes) writeString(out, biome);
+            writeRules(out, p.rules);
+        }
+    }
+
+    // ===== 읽기 (write와 같은 순서) =====
+
+    private static Entry read(ByteBuffer in) {
+        RuleSnapshot.Builder b = readRules(in);
+        int prints = in.getInt();
+        Map<String, Long> fingerprints = new HashMap<>();
+        for (int i = 0; i < prints; i++) fingerprints.put(readString(in), in.getLong());
+        return new Entry(b, fingerprints);
+    }
+
+    private static RuleSnapshot.Builder readRules(ByteBuffer in) {
+        RuleSnapshot.Builder b = new RuleSnapshot.Builder();
+        int worlds = in.getInt();
+        b.enabledWorlds = new HashSet<>();
+        for (int i = 0; i < worlds; i++) b.enabledWorlds.add(readString(in));
+        b.mobSpawnMultiplier = in.getDouble();
+        boolean seeded = in.get() != 0;
+        long seed = in.getLong();
+        b.randomSeed = seeded ? seed : null;
+
+        b.equipmentPerTick = in.getInt();
+        b.spawnerEquipmentPerMinute = in.getInt();
+        b.loadoutPoolSize = in.getInt();
+        b.metricsEnabled = in.get() != 0;
+        b.metricsHttpEnabled = in.get() != 0;
+        b.metricsHttpBind = readString(in);
+        b.metricsHttpPort = in.getInt();
+        b.metricsHttpRefreshSeconds = in.getInt();
+        b.autoReloadEnabled = in.get() != 0;
+        b.autoReloadDebounceMillis = in.getLong();
+
+        b.governorEnabled = in.get() != 0;
+        b.governorMsptSoft = in.getDouble();
+        b.governorMsptHard = in.getDouble();
+        b.governorMobsSoft = in.getLong();
+        b.governorMobsHard = in.getLong();
+        b.governorBackoffRate = in.getDouble();
+        b.governorRecoverRate = in.getDouble();
+
+        b.densityCapsEnabled = in.get() != 0;
+        readIntMap(in, b.chunkDensityCaps);
+        readIntMap(in, b.regionDensityCaps);
+
+        b.weaponEnchantChance = in.getDouble();
+        b.armorEnchantChance = in.getDouble();
+
+        b.killerBunnyEnabled = in.get() != 0;
+        b.killerBunnyChance = in.getDouble();
+        b.killerBunnyApplyNatural = in.get() != 0;
+        b.killerBunnyApplySpawner = in.get() != 0;
+        b.killerBunnyApplySpawnEgg = in.get() != 0;
+
+        readStringDoubleMap(in, b.jockeyChances);
+
+        int spawn = in.getInt();
+        for (int i = 0; i < spawn; i++) {
+            EntityType type = TYPES[in.getInt()];
+            int slots = in.getInt();
+            Map<String, Map<Material, Double>> slotMap = new HashMap<>();
+            for (int j = 0; j < slots; j++) {
+                String slot = readString(in);
+                slotMap.put(slot, readMaterialMap(in));
+            }
+            b.spawnChances.put(type, slotMap);
+        }
+        int specials = in.getInt();
+        for (int i = 0; i < specials; i++) {
+            EntityType type = TYPES[in.getInt()];
+            Map<String, Double> spec = new HashMap<>();
+            readStringDoubleMap(in, spec);
+            b.specialChances.put(type, spec);
+        }
+        int disabled = in.getInt();
+        for (int i = 0; i < disabled; i++) b.disabledEntities.add(TYPES[in.getInt()]);
+        b.naturalSpawnChance.putAll(readTypeMap(in));
+        b.lightThreshold = in.getInt();
+        int lightWorlds = in.getInt();
+        for (int i = 0; i < lightWorlds; i++) b.worldLightThresholds.put(readString(in), in.getInt());
+        int lightTypes = in.getInt();
+        for (int i = 0; i < lightTypes; i++) b.entityLightThresholds.put(TYPES[in.getInt()], in.getInt());
+        readEnchantTables(in, b.defaultEnchantTables);
+        int enchantTypes = in.getInt();
+        for (int i = 0; i < enchantTypes; i++) {
+            EntityType type = TYPES[in.getInt()];
+            EnchantTable[] tables = new EnchantTable[EnchantTable.KINDS];
+            readEnchantTables(in, tables);
+            b.enchantTables.put(type, tables);
+        }
+
+        int drops = in.getInt();
+        for (int i = 0; i < drops; i++) {
+            EntityType type = TYPES[in.getInt()];
+            b.dropChances.put(type, readMaterialMap(in));
+        }
+        int scales = in.getInt();
+        for (int i = 0; i < scales; i++) {
+            EntityType type = TYPES[in.getInt()];
+            int n = in.getInt();
+            Map<Double, Double> m = new LinkedHashMap<>();
+            for (int j = 0; j < n; j++) m.put(in.getDouble(), in.getDouble());
+            b.scaleChances.put(type, m);
+        }
+        int replacements = in.getInt();
+        for (int i = 0; i < replacements; i++) {
+            EntityType type = TYPES[in.getInt()];
+            b.replacementChances.put(type, readTypeMap(in));
+        }
+        b.replacementApplyNatural = in.get() != 0;
+        b.replacementApplySpawner = in.get() != 0;
+        b.replacementApplySpawnEgg = in.get() != 0;
+
+        b.generalBlockHelmetChances.putAll(readMaterialMap(in));
+        b.skeletonBlockHelmetChances.putAll(readMaterialMap(in));
+        b.blockHelmetEnabled = in.get() != 0;
+
+        b.boneInHandChance = in.getDouble();
+        b.drownedChannelingChance = in.getDouble();
+        b.chargedCreeperChance = in.getDouble();
+
+        int vindicator = in.getInt();
+        int illusioner = in.getInt();
+        b.vindicatorHandItem = vindicator >= 0 ? MATERIALS[vindicator] : null;
+        b.illusionerHandItem = illusioner >= 0 ? MATERIALS[illusioner] : null;
+        b.illusionerFlameChance = in.getDouble();
+
+        b.zombieSpearChance = in.getDouble();
+        b.huskSpearChance = in.getDouble();
+        b.zombieHorseJockeyChance = in.getDouble();
+        b.huskCamelJockeyChance = in.getDouble();
+        b.drownedNautilusJockeyChance = in.getDouble();
+        b.piglinGoldSpearChance = in.getDouble();
+        b.zombifiedPiglinGoldSpearChance = in.getDouble();
+
+        int profiles = in.getInt();
+        for (int i = 0; i < profiles; i++) {
+            String name = readString(in);
+            int worldCount = in.getInt();
+            Set<String> profileWorlds = new HashSet<>();
+            for (int j = 0; j < worldCount; j++) profileWorlds.add(readString(in));
+            int biomeCount = in.getInt();
+            List<String> biomes = new ArrayList<>();
+            for (int j = 0; j < biomeCount; j++) biomes.add(readString(in));
+            b.profiles.add(new RuleSnapshot.Builder.Profile(name, profileWorlds, biomes, readRules(in)));
+        }
+        return b;
+    }
+
+    // ===== 도우미 =====
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** 종류별 (있음 여부, 후보 수, 후보마다 키/가중치/최소/최대 레벨) */
+    private static void writeEnchantTables(DataOutputStream out, EnchantTable[] tables) throws IOException {
+        for (EnchantTable table : tables) {
+            out.writeBoolean(table != null);
+            if (table == null) continue;
+            out.writeInt(table.size());
+            for (int i = 0; i < table.size(); i++) {
+                writeString(out, table.enchantment(i).getKey().toString());
+                out.writeDouble(table.weight(i));
+                out.writeInt(table.minLevel(i));
+                out.writeInt(table.maxLevel(i));
+            }
+        }
+    }
+
+    private static void readEnchantTables(ByteBuffer in, EnchantTable[] out) {
+        for (int k = 0; k < out.length; k++) {
+            if (in.get() == 0) continue;
+            int n = in.getInt();
+            List<Enchantment> enchantments = new ArrayList<>();
+            List<double[]> entries = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                NamespacedKey key = NamespacedKey.fromString(readString(in));
+                double weight = in.getDouble();
+                int min = in.getInt();
+                int max = in.getInt();
+                Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+                if (enchantment == null) continue; // 레지스트리에서 빠진 인챈트 (데이터팩 제거 등)
+                enchantments.add(enchantment);
+                entries.add(new double[]{weight, min, max});
+            }
+            double[] weights = new double[enchantments.size()];
+            int[] mins = new int[weights.length];
+            int[] maxes = new int[weights.length];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = entries.get(i)[0];
+                mins[i] = (int) entries.get(i)[1];
+                maxes[i] = (int) entries.get(i)[2];
+            }
+            out[k] = new EnchantTable(enchantments.toArray(new Enchantment[0]), weights, mins, maxes);
+        }
+    }
+
+    private static void writeIntMap(DataOutputStream out, Map<Integer, Integer> m) throws IOException {
+        out.writeInt(m.size());
+        for (Map.Entry<Integer, Integer> e : m.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(e.getValue());
+        }
+    }
+
+    private static void readIntMap(ByteBuffer in, Map<Integer, Integer> out) {
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) out.put(in.getInt(), in.getInt());
+    }
+
+    private static void writeStringDoubleMap(DataOutputStream out, Map<String, Double> m) throws IOException {
+        out.writeInt(m.size());
+        for (Map.Entry<String, Double> e : m.entrySet()) {
+            writeString(out, e.getKey());
+            out.writeDouble(e.getValue());
+        }
+    }
+
+    private static void readStringDoubleMap(ByteBuffer in, Map<String, Double> out) {
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) out.put(readString(in), in.getDouble());
+    }
+
+    private static void writeEnumDoubleMap(DataOutputStream out, Map<? extends Enum<?>, Double> m) throws IOException {
+        out.writeInt(m.size());
+        for (Map.Entry<? extends Enum<?>, Double> e : m.entrySet()) {
+            out.writeInt(e.getKey().ordinal());
+            out.writeDouble(e.getValue());
+        }
+    }
+
+    private static Map<Material, Double> readMaterialMap(ByteBuffer in) {
+        Map<Material, Double> m = new EnumMap<>(Material.class);
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) m.put(MATERIALS[in.getInt()], in.getDouble());
+        return m;
+    }
+
+    private static Map<EntityType, Double> readTypeMap(ByteBuffer in) {
+        Map<EntityType, Double> m = new EnumMap<>(EntityType.class);
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) m.put(TYPES[in.getInt()], in.getDouble());
+        return m;
+    }
+
+    private static void digestString(MessageDigest sha, String s) {
+        digestBytes(sha, String.valueOf(s).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void digestBytes(MessageDigest sha, byte[] bytes) {
+        sha.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        sha.update(bytes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package me.linhyeok;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 부하에 따라 mob-spawn.multiplier를 자동으로 줄였다가 회복시키는 거버너.
+ * - 계수(0.0 ~ 1.0) = min(MSPT 계수, 스폰 위치 구역의 몹 수 계수)
+ * - 실제 배수 = 1 + (multiplier - 1) × 계수 → 계수가 0이면 추가 복제 스폰 없음
+ * - MSPT 계수: 1초(20틱)마다 측정, 과부하 시 backoff-rate, 회복 시 recover-rate 비율로 목표에 부드럽게 수렴
+ * - 몹 수 계수: DensityTracker의 구역(128×128 블록)별 카운트를 스폰 때 바로 읽음
+ *   → 몹 농장 한 구역이 붐벼도 같은 월드의 다른 구역 배수는 그대로 (엔티티 목록 스캔 없음)
+ * - 월드별 몹 수/가장 붐비는 구역은 /dm governor, Prometheus 표시용으로만 1초마다 갱신
+ */
+public class SpawnGovernor {
+    private final Plugin plugin;
+    private final ConfigManager cfg;
+    private final DensityTracker density;
+
+    private final Map<UUID, WorldLoad> worlds = new ConcurrentHashMap<>();
+
+    // MSPT로 정한 계수 (서버 전체)
+    private volatile double msptFactor = 1.0;
+    // 최근 측정한 MSPT (측정 불가 시 -1)
+    private volatile double lastMspt = -1.0;
+    // 샘플마다 MSPT 기록 (Prometheus 틱 시간 히스토그램, ns)
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    // getAverageTickTime()을 지원하지 않는 플랫폼이면 틱 간격으로 추정
+    private boolean intervalFallback = false;
+    private long lastSampleNanos = 0L;
+
+    static final int SAMPLE_PERIOD_TICKS = 20;
+
+    /** 월드 하나의 부하 상태 (표시용) */
+    static final class WorldLoad {
+        final String name;
+        volatile long mobs;
+        volatile int busiestRegion;
+
+        WorldLoad(String name) {
+            this.name = name;
+        }
+    }
+
+    public SpawnGovernor(Plugin plugin, ConfigManager cfg, DensityTracker density) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.density = density;
+    }
+
+    /** 샘플링 타이머 시작 (onEnable에서 한 번, DensityTracker.apply 다음) */
+    public void start() {
+        FoliaCompat.runGlobalTimer(plugin, this::sample, SAMPLE_PERIOD_TICKS, SAMPLE_PERIOD_TICKS);
+    }
+
+    /**
+     * loc에서의 현재 부하를 반영한 실제 스폰 배수.
+     */
+    public double effectiveMultiplier(RuleSnapshot rules, Location loc) {
+        double mult = rules.getMobSpawnMultiplier();
+        if (!rules.isGovernorEnabled() || mult <= 1.0) return mult;
+        return 1.0 + (mult - 1.0) * factor(rules, density.regionMobCount(loc));
+    }
+
+    /** MSPT 계수와 구역 몹 수 계수 중 작은 쪽 */
+    private double factor(RuleSnapshot rules, int regionMobs) {
+        return Math.min(msptFactor, ramp(regionMobs, rules.getGovernorMobsSoft(), rules.getGovernorMobsHard()));
+    }
+
+    // ===== 샘플링 =====
+
+    private void sample() {
+        RuleSnapshot rules = cfg.snapshot();
+        double mspt = readMspt();
+        lastMspt = mspt;
+        if (mspt >= 0) tickTimes.record(Math.round(mspt * 1_000_000.0));
+
+        if (!rules.isGovernorEnabled()) {
+            msptFactor = 1.0;
+            worlds.clear();
+            return;
+        }
+
+        double target = ramp(mspt, rules.getGovernorMsptSoft(), rules.getGovernorMsptHard());
+        double current = msptFactor;
+        double rate = target < current ? rules.getGovernorBackoffRate() : rules.getGovernorRecoverRate();
+        msptFactor = Math.max(0.0, Math.min(1.0, current + (target - current) * rate));
+
+        // 표시용 월드별 몹 수 갱신 (언로드된 월드는 제거)
+        Set<UUID> loaded = new HashSet<>();
+        for (World w : Bukkit.getWorlds()) {
+            loaded.add(w.getUID());
+            WorldLoad load = worlds.computeIfAbsent(w.getUID(), id -> new WorldLoad(w.getName()));
+            load.mobs = density.mobCount(w);
+            load.busiestRegion = density.busiestRegionMobCount(w);
+        }
+        worlds.keySet().retainAll(loaded);
+    }
+
+    /** soft 이하 1.0, hard 이상 0.0, 사이는 선형 */
+    private static double ramp(double value, double soft, double hard) {
+        if (value < 0 || value <= soft) return 1.0;
+        if (hard <= soft || value >= hard) return 0.0;
+        return (hard - value) / (hard - soft);
+    }
+
+    private double readMspt() {
+        if (!intervalFallback) {
+            try {
+                return Bukkit.getAverageTickTime();
+            } catch (Throwable t) {
+                // Folia 등: 전역 틱 시간 API 미지원 → 틱 간격 측정으로 전환
+                intervalFallback = true;
+                plugin.getLogger().info("Average tick time unavailable; spawn governor will estimate from tick interval.");
+            }
+        }
+        long now = System.nanoTime();
+        long prev = lastSampleNanos;
+        lastSampleNanos = now;
+        if (prev == 0L) return -1.0;
+        double interval = (now - prev) / 1_000_000.0 / SAMPLE_PERIOD_TICKS;
+        // 틱이 밀리지 않았으면(≈50ms) 정상으로 보고 측정값 없음 처리
+        return interval > 50.5 ? interval : -1.0;
+    }
+
+    // ===== /dm governor =====
+
+    public double getLastMspt() { return lastMspt; }
+
+    /** 1초마다 측정한 MSPT 분포 (측정 불가 샘플 제외) */
+    LatencyHistogram tickHistogram() { return tickTimes; }
+
+    public boolean isIntervalFallback() { return intervalFallback; }
+
+    /** MSPT로 정한 계수 (서버 전체) */
+    public double getMsptFactor() { return msptFactor; }
+
+    /** 월드 이름 → {몹 수, 가장 붐비는 구역의 몹 수, 그 구역의 계수} (표시용, 거버너가 꺼져 있으면 비어 있음) */
+    public Map<String, double[]> describe() {
+        RuleSnapshot rules = cfg.snapshot();
+        Map<String, double[]> out = new java.util.TreeMap<>();
+        for (WorldLoad load : worlds.values()) {
+            int busiest = load.busiestRegion;
+            out.put(load.name, new double[]{load.mobs, busiest, factor(rules, busiest)});
+        }
+        return out;
+    }
+}
\ No newline at end of file
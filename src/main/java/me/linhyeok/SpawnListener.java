@@ -8,42 +8,99 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityTransformEvent;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.Material;
 
 import java.util.Map;
-import java.util.Random;
 
 public class SpawnListener implements Listener {
 
     private final DynamicMob plugin;
     private final ConfigManager cfg;
-    private final EquipmentManager equip;
-    private final Random random = new Random();
-
-    public SpawnListener(DynamicMob plugin, ConfigManager cfg, EquipmentManager equip) {
+    private final EquipmentQueue equipQueue;
+    private final ItemTemplates templates;
+    private final ServerCapabilities caps;
+    private final SpawnGovernor governor;
+    private final DensityTracker density;
+    private final SpawnerCache spawners;
+    private final Metrics metrics;
+
+    public SpawnListener(DynamicMob plugin, ConfigManager cfg, EquipmentQueue equipQueue,
+                         ItemTemplates templates, ServerCapabilities caps, SpawnGovernor governor,
+                         DensityTracker density, SpawnerCache spawners, Metrics metrics) {
         this.plugin = plugin;
         this.cfg = cfg;
-        this.equip = equip;
+        this.equipQueue = equipQueue;
+        this.templates = templates;
+        this.caps = caps;
+        this.governor = governor;
+        this.density = density;
+        this.spawners = spawners;
+        this.metrics = metrics;
     }
 
     @EventHandler
     public void onCreatureSpawn(CreatureSpawnEvent event) {
         Entity entity = event.getEntity();
-        CreatureSpawnEvent.SpawnReason reason = event.getSpawnReason();
 
-        // 월드별 동작 가드
         World w = entity.getWorld();
-        if (!cfg.isWorldEnabled(w)) return;
+        RuleSnapshot rules;
+        boolean equip = true;
+
+        // 스포너 빠른 경로: 직전 SpawnerSpawnEvent에서 스포너 위치로 해석해 둔 규칙 사용
+        SpawnerCache.Entry spawner = event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER
+                ? spawners.take(entity) : null;
+        if (spawner != null) {
+            rules = spawner.rules();
+            if (rules == null) return;
+            equip = spawner.allowEquipment();
+            if (spawner.isPlain(entity.getType(), caps)) {
+                // 스케일 + 이 스포너 묶음의 장비만
+                long start = metrics.start();
+                LivingEntity le = (LivingEntity) entity;
+                applyScale(rules, le);
+                if (equip) equipQueue.enqueue(le, rules, spawner.batch());
+                metrics.recordSpawn(w, event.getSpawnReason(), entity.getType(), start);
+                return;
+            }
+        } else {
+            // 월드별 동작 가드
+            rules = cfg.snapshot();
+            if (!rules.isWorldEnabled(w)) return;
+            // 월드/바이옴 프로필 (프로필이 없으면 그대로)
+            if (rules.hasProfiles()) rules = rules.profileAt(event.getLocation());
+        }
+
+        long start = metrics.start();
+        handleSpawn(rules, event, w, equip);
+        metrics.recordSpawn(w, event.getSpawnReason(), entity.getType(), start);
+    }
+
+    /** equip이 false면 (스포너 장비 한도 초과) 바닐라 장비 유지 */
+    private void handleSpawn(RuleSnapshot rules, CreatureSpawnEvent event, World w, boolean equip) {
+        Entity entity = event.getEntity();
+        CreatureSpawnEvent.SpawnReason reason = event.getSpawnReason();
+
+        // --- 밝기 필터 (light-threshold): 너무 밝은 곳의 자연 스폰 몬스터는 다른 처리 전에 취소
+        // 가디언/블레이즈/피글린처럼 밝기와 상관없이 스폰되는 몹은 엔티티별로 지정했을 때만
+        if (reason == CreatureSpawnEvent.SpawnReason.NATURAL && entity instanceof Monster) {
+            int threshold = rules.getLightThreshold(w, entity.getType(), caps.usesDarknessSpawnRule(entity.getType()));
+            if (threshold < 15 && event.getLocation().getBlock().getLightLevel() > threshold) {
+                metrics.lightCancelled(rules, w);
+                event.setCancelled(true);
+                return;
+            }
+        }
 
         // --- Killer Bunny (토끼 스폰 시 변환)
         if (entity instanceof Rabbit rabbit) {
-            if (cfg.isKillerBunnyEnabled() &&
+            if (rules.isKillerBunnyEnabled() &&
                     shouldApplyForReason(reason,
-                            cfg.isKillerBunnyApplyNatural(),
-                            cfg.isKillerBunnyApplySpawner(),
-                            cfg.isKillerBunnyApplySpawnEgg())) {
-                if (random.nextDouble() < cfg.getKillerBunnyChance()) {
+                            rules.isKillerBunnyApplyNatural(),
+                            rules.isKillerBunnyApplySpawner(),
+                            rules.isKillerBunnyApplySpawnEgg())) {
+                if (Rng.nextDouble() < rules.getKillerBunnyChance()) {
                     try {
                         rabbit.setRabbitType(Rabbit.Type.THE_KILLER_BUNNY);
                         plugin.getLogger().fine("Killer Bunny spawned at " + rabbit.getLocation());
@@ -67,30 +124,36 @@ public class SpawnListener implements Listener {
 
         // --- 자연 스폰 제한 (natural-limit)
         if (reason == CreatureSpawnEvent.SpawnReason.NATURAL) {
-            Double limit = cfg.getNaturalSpawnChance().get(entity.getType());
-            if (limit != null && random.nextDouble() >= limit) {
+            Double limit = rules.getNaturalSpawnChance().get(entity.getType());
+            if (limit != null && Rng.nextDouble() >= limit) {
+                metrics.naturalLimitCancelled(rules, w);
                 event.setCancelled(true);
                 return;
             }
         }
 
         // 비활성화된 엔티티면 즉시 중단
-        if (cfg.getDisabledEntities().contains(entity.getType())) return;
+        if (rules.getDisabledEntities().contains(entity.getType())) return;
 
         // --- 대체 스폰 처리 ---
-        if (shouldApplyReplacementForReason(reason)) {
-            if (tryReplacement(event)) {
+        if (shouldApplyReplacementForReason(rules, reason)) {
+            EntityType replacedBy = tryReplacement(rules, event, equip);
+            if (replacedBy != null) {
+                metrics.replaced(rules, w, entity.getType(), replacedBy);
                 return; // 원래 스폰 취소 후 대체 성공
             }
         }
 
         // --- 몹 스폰 멀티플라이어 (보스 제외, NATURAL 만)
-        if (shouldMultiply(entity, reason)) {
-            multiply(entity);
+        if (shouldMultiply(rules, entity, reason)) {
+            metrics.cloned(rules, w, multiply(rules, entity, equip));
         }
 
         // --- 조키 (확률에 따라 원래 엔티티에 라이더 추가)
-        handleJockeys(entity);
+        String jockey = handleJockeys(rules, entity, equip);
+        if (jockey != null) {
+            metrics.jockey(rules, w, jockey);
+        }
 
         // --- 약탈자는 바닐라 장비 유지 (커스텀 장비 적용 안 함)
         // 대체 스폰으로 이미 교체되었다면 이 코드에 도달하지 않음
@@ -100,19 +163,16 @@ public class SpawnListener implements Listener {
 
         // --- 스케일 즉시 적용 ---
         LivingEntity le = (LivingEntity) entity;
-        applyScale(le);
+        applyScale(rules, le);
 
-        // --- 장비/인챈트/충전 등 적용 (스포너/스폰알 포함) – 1틱 지연
-        FoliaCompat.runOneTickLater(plugin, le, () -> {
-            if (!le.isValid()) return;
-            equip.applyAll(le);
-        });
+        // --- 장비/인챈트/충전 등 적용 (스포너/스폰알 포함) – 다음 틱 배치 처리
+        if (equip) equipQueue.enqueue(le, rules);
     }
 
     @EventHandler
     public void onTransform(EntityTransformEvent event) {
         // 월드별 동작 가드 (좀비화/변형 이벤트)
-        if (!cfg.isWorldEnabled(event.getEntity().getWorld())) return;
+        if (!cfg.snapshot().isWorldEnabled(event.getEntity().getWorld())) return;
 
         EntityType from = event.getEntityType();
         EntityType to = event.getTransformedEntity().getType();
@@ -122,48 +182,57 @@ public class SpawnListener implements Listener {
         }
     }
 
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        // 월드 활성 여부를 미리 판정 (스폰 이벤트에서는 UID 조회만)
+        cfg.snapshot().resolveWorld(event.getWorld());
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        cfg.snapshot().forgetWorld(event.getWorld());
+    }
+
     @EventHandler
     public void onEntityDeath(EntityDeathEvent event) {
         Entity entity = event.getEntity();
 
         // 월드별 동작 가드
-        if (!cfg.isWorldEnabled(entity.getWorld())) return;
+        RuleSnapshot rules = cfg.snapshot();
+        if (!rules.isWorldEnabled(entity.getWorld())) return;
+        rules = rules.profileFor(entity);
 
         // 커스텀 드랍 적용
-        Map<Material, Double> drops = cfg.getDropChances().get(entity.getType());
+        Map<Material, Double> drops = rules.getDropChances().get(entity.getType());
         if (drops == null || drops.isEmpty()) return;
 
+        long start = metrics.start();
         Location loc = entity.getLocation();
+        int dropped = 0;
         for (Map.Entry<Material, Double> entry : drops.entrySet()) {
-            if (random.nextDouble() < entry.getValue()) {
-                entity.getWorld().dropItemNaturally(loc, new ItemStack(entry.getKey(), 1));
+            if (Rng.nextDouble() < entry.getValue()) {
+                entity.getWorld().dropItemNaturally(loc, templates.plain(entry.getKey()));
+                dropped++;
             }
         }
+        metrics.recordDeathDrops(entity.getWorld(), dropped, start);
     }
 
     /**
      * 몹에 스케일 적용
      */
-    private void applyScale(LivingEntity entity) {
-        Map<Double, Double> scales = cfg.getScaleChances().get(entity.getType());
-        if (scales == null || scales.isEmpty()) return;
-
-        double roll = random.nextDouble();
-        double cumulative = 0.0;
+    private void applyScale(RuleSnapshot rules, LivingEntity entity) {
+        WeightedTable<Double> scales = rules.getScaleTables().get(entity.getType());
+        if (scales == null) return;
 
-        for (Map.Entry<Double, Double> entry : scales.entrySet()) {
-            cumulative += entry.getValue();
-            if (roll < cumulative) {
-                try {
-                    var attr = entity.getAttribute(org.bukkit.attribute.Attribute.SCALE);
-                    if (attr != null) {
-                        attr.setBaseValue(entry.getKey());
-                    }
-                    break;
-                } catch (Exception ignored) {
-                    break;
-                }
+        Double size = scales.pick(Rng.nextDouble());
+        if (size == null) return;
+        try {
+            var attr = entity.getAttribute(org.bukkit.attribute.Attribute.SCALE);
+            if (attr != null) {
+                attr.setBaseValue(size);
             }
+        } catch (Exception ignored) {
         }
     }
 
@@ -179,74 +248,72 @@ public class SpawnListener implements Listener {
         };
     }
 
-    private boolean shouldApplyReplacementForReason(CreatureSpawnEvent.SpawnReason reason) {
+    private boolean shouldApplyReplacementForReason(RuleSnapshot rules, CreatureSpawnEvent.SpawnReason reason) {
         return switch (reason) {
-            case NATURAL -> cfg.isReplacementApplyNatural();
-            case SPAWNER -> cfg.isReplacementApplySpawner();
-            case SPAWNER_EGG -> cfg.isReplacementApplySpawnEgg();
+            case NATURAL -> rules.isReplacementApplyNatural();
+            case SPAWNER -> rules.isReplacementApplySpawner();
+            case SPAWNER_EGG -> rules.isReplacementApplySpawnEgg();
             default -> false;
         };
     }
 
     /**
      * 대체 스폰: 원본 스폰 이벤트를 취소하고 새로운 엔티티로 교체.
-     * 새로 스폰된 엔티티에도 1틱 지연 장비 적용.
+     * 새로 스폰된 엔티티에도 1틱 지연 장비 적용. 대체한 타입을 반환 (대체 안 했으면 null).
      */
-    private boolean tryReplacement(CreatureSpawnEvent event) {
+    private EntityType tryReplacement(RuleSnapshot rules, CreatureSpawnEvent event, boolean equip) {
         Entity entity = event.getEntity();
-        Map<EntityType, Double> table = cfg.getReplacementChances().get(entity.getType());
-        if (table == null || table.isEmpty()) return false;
-
-        double r = random.nextDouble();
-        double acc = 0.0;
-        for (Map.Entry<EntityType, Double> e : table.entrySet()) {
-            acc += e.getValue();
-            if (r < acc) {
-                Location loc = entity.getLocation();
-                Entity spawned = loc.getWorld().spawnEntity(loc, e.getKey());
-
-                // 약탈자로 대체되는 경우 바닐라 장비 유지
-                // 환술사로 대체되는 경우 커스텀 장비 적용
-                if (spawned instanceof Pillager) {
-                    event.setCancelled(true);
-                    return true;
-                }
+        WeightedTable<EntityType> table = rules.getReplacementTables().get(entity.getType());
+        if (table == null) return null;
 
-                if (spawned instanceof LivingEntity le) {
-                    applyScale(le);
-                    FoliaCompat.runOneTickLater(plugin, le, () -> {
-                        if (!le.isValid()) return;
-                        equip.applyAll(le);
-                    });
-                }
-                event.setCancelled(true);
-                return true;
-            }
+        EntityType target = table.pick(Rng.nextDouble());
+        if (target == null) return null;
+
+        Location loc = entity.getLocation();
+        // 밀도 제한에 걸리면 대체하지 않고 원본 유지
+        if (!density.allows(rules, loc, target)) return null;
+        Entity spawned = loc.getWorld().spawnEntity(loc, target);
+
+        // 약탈자로 대체되는 경우 바닐라 장비 유지
+        // 환술사로 대체되는 경우 커스텀 장비 적용
+        if (spawned instanceof Pillager) {
+            event.setCancelled(true);
+            return target;
         }
-        return false;
+
+        if (spawned instanceof LivingEntity le) {
+            applyScale(rules, le);
+            if (equip) equipQueue.enqueue(le, rules);
+        }
+        event.setCancelled(true);
+        return target;
     }
 
     /**
      * NATURAL 스폰만 배수 적용, 보스는 제외
      */
-    private boolean shouldMultiply(Entity entity, CreatureSpawnEvent.SpawnReason reason) {
+    private boolean shouldMultiply(RuleSnapshot rules, Entity entity, CreatureSpawnEvent.SpawnReason reason) {
         if (reason != CreatureSpawnEvent.SpawnReason.NATURAL) return false;
         if (entity instanceof Boss) return false;
-        return cfg.getMobSpawnMultiplier() > 1.01;
+        return rules.getMobSpawnMultiplier() > 1.01;
     }
 
     /**
-     * 스폰 배수 적용. 복제 스폰 개체에도 1틱 지연 장비 적용.
+     * 스폰 배수 적용 (거버너가 부하에 맞춰 줄인 배수). 복제 스폰 개체에도 1틱 지연 장비 적용 (equip이 false면 생략).
+     * 밀도 제한에 걸리면 남은 복제는 건너뜀. 실제로 스폰한 복제 수를 반환.
      */
-    private void multiply(Entity entity) {
-        double mult = cfg.getMobSpawnMultiplier();
+    private int multiply(RuleSnapshot rules, Entity entity, boolean equip) {
+        Location loc = entity.getLocation();
+        double mult = governor.effectiveMultiplier(rules, loc);
         int extra = (int) Math.floor(mult) - 1;
         double frac = mult - Math.floor(mult);
 
-        Location loc = entity.getLocation();
+        int spawned = 0;
 
         for (int i = 0; i < extra; i++) {
+            if (!density.allows(rules, loc, entity.getType())) return spawned;
             Entity clone = loc.getWorld().spawnEntity(loc, entity.getType());
+            spawned++;
 
             // 약탈자는 장비 적용 안 함
             if (clone instanceof Pillager) {
@@ -254,65 +321,57 @@ public class SpawnListener implements Listener {
             }
 
             if (clone instanceof LivingEntity le) {
-                applyScale(le);
-                FoliaCompat.runOneTickLater(plugin, le, () -> {
-                    if (!le.isValid()) return;
-                    equip.applyAll(le);
-                });
+                applyScale(rules, le);
+                if (equip) equipQueue.enqueue(le, rules);
             }
         }
-        if (random.nextDouble() < frac) {
+        if (Rng.nextDouble() < frac && density.allows(rules, loc, entity.getType())) {
             Entity clone = loc.getWorld().spawnEntity(loc, entity.getType());
+            spawned++;
 
             // 약탈자는 장비 적용 안 함
             if (clone instanceof Pillager) {
-                return;
+                return spawned;
             }
 
             if (clone instanceof LivingEntity le) {
-                applyScale(le);
-                FoliaCompat.runOneTickLater(plugin, le, () -> {
-                    if (!le.isValid()) return;
-                    equip.applyAll(le);
-                });
+                applyScale(rules, le);
+                if (equip) equipQueue.enqueue(le, rules);
             }
         }
+        return spawned;
     }
 
     /**
      * 조키 구성. 베이비 좀비/스켈레톤 등이 탈것에 승차.
-     * 승객(라이더) 장비는 1틱 지연으로 적용.
+     * 승객(라이더) 장비는 1틱 지연으로 적용 (equip이 false면 생략). 탈것이 밀도 제한에 걸리면 조키 없음.
+     * 만든 조키의 config 키 (없으면 null).
      */
-    private void handleJockeys(Entity entity) {
+    private String handleJockeys(RuleSnapshot rules, Entity entity, boolean equip) {
         // 베이비 좀비 계열 + 닭 조키
         if (entity instanceof Zombie zombie && !zombie.isAdult()) {
             String configKey = getZombieJockeyKey(zombie);
-            double chance = cfg.getJockeyChances().getOrDefault(configKey, 0.0);
-            if (random.nextDouble() < chance) {
+            double chance = rules.getJockeyChances().getOrDefault(configKey, 0.0);
+            if (Rng.nextDouble() < chance && density.allows(rules, entity.getLocation(), EntityType.CHICKEN)) {
                 Entity chicken = entity.getWorld().spawnEntity(entity.getLocation(), EntityType.CHICKEN);
                 chicken.addPassenger(zombie);
-                applyScale(zombie);
-                FoliaCompat.runOneTickLater(plugin, zombie, () -> {
-                    if (!zombie.isValid()) return;
-                    equip.applyAll(zombie);
-                });
-                return;
+                applyScale(rules, zombie);
+                if (equip) equipQueue.enqueue(zombie, rules);
+                return configKey;
             }
         }
 
         // 1.21.11+ 좀비 + 좀비 말 조키 (베이비 아님)
         if (entity instanceof Zombie zombie && zombie.isAdult() && zombie.getType() == EntityType.ZOMBIE) {
-            double horseChance = cfg.getZombieHorseJockeyChance();
-            if (horseChance > 0 && random.nextDouble() < horseChance) {
+            double horseChance = rules.getZombieHorseJockeyChance();
+            if (horseChance > 0 && Rng.nextDouble() < horseChance
+                    && density.allows(rules, entity.getLocation(), EntityType.ZOMBIE_HORSE)) {
                 try {
                     Entity zombieHorse = entity.getWorld().spawnEntity(entity.getLocation(), EntityType.ZOMBIE_HORSE);
                     zombieHorse.addPassenger(zombie);
-                    applyScale(zombie);
-                    FoliaCompat.runOneTickLater(plugin, zombie, () -> {
-                        if (!zombie.isValid()) return;
-                        equip.applyAll(zombie);
-                    });
-                    return;
+                    applyScale(rules, zombie);
+                    if (equip) equipQueue.enqueue(zombie, rules);
+                    return "zombie_horse_jockey";
                 } catch (Exception e) {
                     plugin.getLogger().warning("Failed to spawn zombie horse jockey: " + e.getMessage());
                 }
@@ -321,17 +380,15 @@ public class SpawnListener implements Listener {
 
         // 1.21.11+ 허스크 + 낙타 조키 (베이비 아님)
         if (entity instanceof Husk husk && husk.isAdult()) {
-            double camelChance = cfg.getHuskCamelJockeyChance();
-            if (camelChance > 0 && random.nextDouble() < camelChance) {
+            double camelChance = rules.getHuskCamelJockeyChance();
+            if (camelChance > 0 && Rng.nextDouble() < camelChance
+                    && density.allows(rules, entity.getLocation(), EntityType.CAMEL)) {
                 try {
                     Entity camel = entity.getWorld().spawnEntity(entity.getLocation(), EntityType.CAMEL);
                     camel.addPassenger(husk);
-                    applyScale(husk);
-                    FoliaCompat.runOneTickLater(plugin, husk, () -> {
-                        if (!husk.isValid()) return;
-                        equip.applyAll(husk);
-                    });
-                    return;
+                    applyScale(rules, husk);
+                    if (equip) equipQueue.enqueue(husk, rules);
+                    return "husk_camel_jockey";
                 } catch (Exception e) {
                     plugin.getLogger().warning("Failed to spawn husk camel jockey (CAMEL may not be available): " + e.getMessage());
                 }
@@ -339,21 +396,17 @@ public class SpawnListener implements Listener {
         }
 
         // 1.21.11+ 드라운드 + 좀비 앵무조개 조키
-        if (entity instanceof Drowned drowned) {
-            double nautilusChance = cfg.getDrownedNautilusJockeyChance();
-            if (nautilusChance > 0 && random.nextDouble() < nautilusChance) {
+        if (entity instanceof Drowned drowned && caps.getZombieNautilus() != null) {
+            double nautilusChance = rules.getDrownedNautilusJockeyChance();
+            if (nautilusChance > 0 && Rng.nextDouble() < nautilusChance
+                    && density.allows(rules, entity.getLocation(), caps.getZombieNautilus())) {
                 try {
-                    EntityType nautilusType = EntityType.valueOf("ZOMBIE_NAUTILUS");
+                    EntityType nautilusType = caps.getZombieNautilus();
                     Entity nautilusZombie = entity.getWorld().spawnEntity(entity.getLocation(), nautilusType);
                     nautilusZombie.addPassenger(drowned);
-                    applyScale(drowned);
-                    FoliaCompat.runOneTickLater(plugin, drowned, () -> {
-                        if (!drowned.isValid()) return;
-                        equip.applyAll(drowned);
-                    });
-                    return;
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("ZOMBIE_NAUTILUS entity type not available (requires 1.21.11+)");
+                    applyScale(rules, drowned);
+                    if (equip) equipQueue.enqueue(drowned, rules);
+                    return "drowned_nautilus_jockey";
                 } catch (Exception e) {
                     plugin.getLogger().warning("Failed to spawn drowned nautilus jockey: " + e.getMessage());
                 }
@@ -363,17 +416,16 @@ public class SpawnListener implements Listener {
         // 스켈레톤 계열 + 거미 조키 (PARCHED 포함)
         if (entity instanceof AbstractSkeleton skeleton) {
             String configKey = getSkeletonJockeyKey(skeleton);
-            double chance = cfg.getJockeyChances().getOrDefault(configKey, 0.0);
-            if (random.nextDouble() < chance) {
+            double chance = rules.getJockeyChances().getOrDefault(configKey, 0.0);
+            if (Rng.nextDouble() < chance && density.allows(rules, entity.getLocation(), EntityType.SPIDER)) {
                 Entity spider = entity.getWorld().spawnEntity(entity.getLocation(), EntityType.SPIDER);
                 spider.addPassenger(skeleton);
-                applyScale(skeleton);
-                FoliaCompat.runOneTickLater(plugin, skeleton, () -> {
-                    if (!skeleton.isValid()) return;
-                    equip.applyAll(skeleton);
-                });
+                applyScale(rules, skeleton);
+                if (equip) equipQueue.enqueue(skeleton, rules);
+                return configKey;
             }
         }
+        return null;
     }
 
     /**
@@ -393,14 +445,9 @@ public class SpawnListener implements Listener {
      * 스켈레톤 타입에 따른 조키 config 키 반환 (PARCHED 추가)
      */
     private String getSkeletonJockeyKey(AbstractSkeleton skeleton) {
-        // PARCHED가 실제로 존재하는지 확인
-        try {
-            EntityType parchedType = EntityType.valueOf("PARCHED");
-            if (skeleton.getType() == parchedType) {
-                return "parched_spider_jockey";
-            }
-        } catch (IllegalArgumentException e) {
-            // PARCHED 타입이 없으면 무시
+        // PARCHED (지원 서버에서만 non-null)
+        if (caps.getParched() != null && skeleton.getType() == caps.getParched()) {
+            return "parched_spider_jockey";
         }
 
         return switch (skeleton.getType()) {
@@ -0,0 +1,218 @@
+package me.linhyeok;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.SpawnerSpawnEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스포너 블록 위치별 캐시 (몹 농장용 빠른 경로).
+ * - SpawnerSpawnEvent는 같은 엔티티의 CreatureSpawnEvent(SPAWNER) 직전에 같은 스레드에서 호출됨
+ *   → 여기서 스포너 위치의 항목을 찾아 두고, SpawnListener가 월드 판정/프로필 조회 없이 그 규칙을 씀
+ * - 항목 = 스포너 위치에서 해석한 규칙(월드 비활성이면 null) + 분당 장비 적용 횟수 (spawners.equipment-per-minute)
+ *   + 스폰 타입별 판정(대체/조키/킬러 토끼가 없으면 스케일 + 장비만 하는 빠른 경로) + 이 스포너 전용 미리 굴린 장비 묶음
+ * - 리로드 시 통째로 비움 (clear), 블록 파괴/폭발/청크 언로드/월드 언로드 시 제거
+ * - 스레드 전달 슬롯은 엔티티 UUID만 들고, CreatureSpawnEvent가 끝나면(MONITOR) 비움
+ */
+public class SpawnerCache implements Listener {
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ConfigManager cfg;
+    private final Map<UUID, WorldSpawners> worlds = new ConcurrentHashMap<>();
+    // SpawnerSpawnEvent → CreatureSpawnEvent 전달용 (스레드마다 하나, 재사용)
+    private final ThreadLocal<Pending> pending = ThreadLocal.withInitial(Pending::new);
+
+    /** 스포너 하나 */
+    static final class Entry {
+        private RuleSnapshot base;
+        private RuleSnapshot rules;
+        private long windowStart;
+        private int used;
+        // 마지막으로 스폰한 타입의 판정 (타입이 바뀌거나 규칙이 바뀌면 다시 계산)
+        private EntityType type;
+        private boolean plain;
+        private LoadoutPool batch;
+
+        /** 이 스포너 위치의 규칙 (월드 비활성이면 null) */
+        synchronized RuleSnapshot rules() {
+            return rules;
+        }
+
+        private synchronized void refresh(RuleSnapshot current, World world, int x, int y, int z) {
+            if (base == current) return;
+            base = current;
+            rules = current.isWorldEnabled(world) ? current.profileAt(world, x, y, z) : null;
+            type = null;
+            batch = null;
+        }
+
+        private void prepare(EntityType spawned, ServerCapabilities caps) {
+            if (type == spawned) return;
+            type = spawned;
+            plain = needsOnlyEquipment(rules, spawned, caps);
+            batch = new LoadoutPool(rules, spawned);
+        }
+
+        /** spawned 스폰에 할 일이 스케일/장비뿐인지 (빠른 경로) */
+        synchronized boolean isPlain(EntityType spawned, ServerCapabilities caps) {
+            if (rules == null) return false;
+            prepare(spawned, caps);
+            return plain;
+        }
+
+        /** 이 스포너 전용 미리 굴린 장비 묶음 (isPlain 다음에 호출) */
+        synchronized LoadoutPool batch() {
+            return batch;
+        }
+
+        /** 이번 몹에 커스텀 장비를 적용할지 (분당 한도 안쪽이면 true) */
+        synchronized boolean allowEquipment() {
+            int limit = rules != null ? rules.getSpawnerEquipmentPerMinute() : 0;
+            if (limit <= 0) return true;
+            long now = System.nanoTime();
+            if (now - windowStart >= WINDOW_NANOS) {
+                windowStart = now;
+                used = 0;
+            }
+            return ++used <= limit;
+        }
+    }
+
+    /** 월드 하나의 스포너 (청크 키 → 블록 키 → 항목) */
+    private static final class WorldSpawners {
+        final ConcurrentHashMap<Long, Map<Long, Entry>> chunks = new ConcurrentHashMap<>();
+    }
+
+    private static final class Pending {
+        UUID entity;
+        Entry entry;
+    }
+
+    public SpawnerCache(ConfigManager cfg) {
+        this.cfg = cfg;
+    }
+
+    /**
+     * SPAWNER 스폰에서 킬러 토끼/대체/조키/좀비화 면역이 하나도 해당 없는지.
+     * 밝기 필터/자연 스폰 제한/배수는 NATURAL 전용이라 스포너와 무관.
+     */
+    private static boolean needsOnlyEquipment(RuleSnapshot rules, EntityType type, ServerCapabilities caps) {
+        if (type == EntityType.PILLAGER || type == EntityType.RABBIT) return false;
+        if (type == EntityType.PIGLIN || type == EntityType.PIGLIN_BRUTE || type == EntityType.HOGLIN) return false;
+        if (rules.getDisabledEntities().contains(type)) return false;
+        if (rules.isReplacementApplySpawner() && rules.getReplacementTables().containsKey(type)) return false;
+        if (caps.isZombieFamily(type) || caps.isSkeletonFamily(type)) {
+            boolean jockeys = rules.getZombieHorseJockeyChance() > 0 || rules.getHuskCamelJockeyChance() > 0
+                    || rules.getDrownedNautilusJockeyChance() > 0;
+            for (double chance : rules.getJockeyChances().values()) jockeys |= chance > 0;
+            if (jockeys) return false;
+        }
+        return true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawnerSpawn(SpawnerSpawnEvent event) {
+        CreatureSpawner spawner = event.getSpawner();
+        if (spawner == null) return; // 스포너 광산 수레 등
+        World world = spawner.getWorld();
+        int x = spawner.getX(), y = spawner.getY(), z = spawner.getZ();
+        Entry entry = worlds.computeIfAbsent(world.getUID(), id -> new WorldSpawners()).chunks
+                .computeIfAbsent(chunkKey(x >> 4, z >> 4), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(blockKey(x, y, z), k -> new Entry());
+        entry.refresh(cfg.snapshot(), world, x, y, z);
+
+        Pending p = pending.get();
+        p.entity = event.getEntity().getUniqueId();
+        p.entry = entry;
+    }
+
+    /** 바로 앞 SpawnerSpawnEvent의 항목 (같은 엔티티가 아니면 null) */
+    Entry take(Entity entity) {
+        Pending p = pending.get();
+        Entry entry = p.entry != null && entity.getUniqueId().equals(p.entity) ? p.entry : null;
+        p.entity = null;
+        p.entry = null;
+        return entry;
+    }
+
+    /** CreatureSpawnEvent까지 가지 않은 스포너 스폰(비생물 엔티티, 중간에 취소)의 슬롯 정리 */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCreatureSpawnDone(CreatureSpawnEvent event) {
+        Pending p = pending.get();
+        p.entity = null;
+        p.entry = null;
+    }
+
+    /** 리로드 후 전부 버림 (다음 스폰 때 새 규칙으로 다시 해석) */
+    public void clear() {
+        worlds.clear();
+    }
+
+    // ===== 무효화 =====
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        forget(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        forget(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        forget(event.blockList());
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        WorldSpawners ws = worlds.get(event.getWorld().getUID());
+        if (ws != null) ws.chunks.remove(chunkKey(event.getChunk().getX(), event.getChunk().getZ()));
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    private void forget(List<Block> blocks) {
+        for (Block block : blocks) forget(block);
+    }
+
+    private void forget(Block block) {
+        if (block.getType() != Material.SPAWNER) return;
+        WorldSpawners ws = worlds.get(block.getWorld().getUID());
+        if (ws == null) return;
+        int x = block.getX(), y = block.getY(), z = block.getZ();
+        Map<Long, Entry> chunk = ws.chunks.get(chunkKey(x >> 4, z >> 4));
+        if (chunk != null) chunk.remove(blockKey(x, y, z));
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** x/z 26비트, y 12비트 (바닐라 BlockPos.asLong과 같은 배치) */
+    private static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package me.linhyeok;
+
+import java.util.Map;
+
+/**
+ * 확률 테이블을 Vose alias method로 미리 컴파일한 샘플러.
+ * - 기존 누적 확률(roll &lt; cumulative) 의미를 그대로 보존: 입력 순서대로 누적하며 1.0을 넘는 부분은 잘림
+ * - 합계가 1.0 미만이면 남는 확률은 "결과 없음"(-1 / null) 칸으로 들어감
+ * - 뽑기 한 번은 난수 하나, 배열 읽기 두 번 — 결과 개수와 무관하게 O(1), 할당 없음
+ */
+public final class WeightedTable<T> {
+    private final Object[] outcomes;
+    private final double[] prob;
+    private final int[] alias;
+
+    private WeightedTable(Object[] outcomes, double[] prob, int[] alias) {
+        this.outcomes = outcomes;
+        this.prob = prob;
+        this.alias = alias;
+    }
+
+    /**
+     * 순서가 있는 확률 맵을 컴파일. 비어있거나 모든 확률이 0이면 null.
+     */
+    public static <T> WeightedTable<T> compile(Map<T, Double> chances) {
+        if (chances == null || chances.isEmpty()) return null;
+
+        int n = chances.size();
+        Object[] outcomes = new Object[n];
+        double[] weights = new double[n + 1];
+        double acc = 0.0;
+        int i = 0;
+        for (Map.Entry<T, Double> e : chances.entrySet()) {
+            double p = e.getValue() == null ? 0.0 : e.getValue();
+            // 누적 방식과 동일: 이미 1.0을 채웠으면 뒤 항목은 절대 뽑히지 않음
+            double eff = Math.max(0.0, Math.min(p, 1.0 - acc));
+            outcomes[i] = e.getKey();
+            weights[i] = eff;
+            acc += eff;
+            i++;
+        }
+        if (acc <= 0.0) return null;
+
+        // 남는 확률은 마지막 "결과 없음" 칸
+        double remainder = 1.0 - acc;
+        int columns = remainder > 0.0 ? n + 1 : n;
+        weights[n] = Math.max(0.0, remainder);
+
+        // ---- Vose alias 테이블 구성 ----
+        double[] prob = new double[columns];
+        int[] alias = new int[columns];
+        double[] scaled = new double[columns];
+        int[] small = new int[columns];
+        int[] large = new int[columns];
+        int ns = 0, nl = 0;
+
+        for (int c = 0; c < columns; c++) {
+            scaled[c] = weights[c] * columns;
+            if (scaled[c] < 1.0) small[ns++] = c;
+            else large[nl++] = c;
+        }
+        while (ns > 0 && nl > 0) {
+            int l = small[--ns];
+            int g = large[--nl];
+            prob[l] = scaled[l];
+            alias[l] = g;
+            scaled[g] = (scaled[g] + scaled[l]) - 1.0;
+            if (scaled[g] < 1.0) small[ns++] = g;
+            else large[nl++] = g;
+        }
+        // 부동소수점 오차로 남은 칸은 자기 자신으로 확정
+        while (nl > 0) {
+            int g = large[--nl];
+            prob[g] = 1.0;
+            alias[g] = g;
+        }
+        while (ns > 0) {
+            int l = small[--ns];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        return new WeightedTable<>(outcomes, prob, alias);
+    }
+
+    /**
+     * [0, 1) 균등 난수 하나로 결과 인덱스를 뽑음. "결과 없음"이면 -1.
+     */
+    public int pickIndex(double u) {
+        int columns = prob.length;
+        double x = u * columns;
+        int c = (int) x;
+        if (c >= columns) c = columns - 1;
+        int k = (x - c) < prob[c] ? c : alias[c];
+        return k < outcomes.length ? k : -1;
+    }
+
+    /**
+     * [0, 1) 균등 난수 하나로 결과를 뽑음. "결과 없음"이면 null.
+     */
+    @SuppressWarnings("unchecked")
+    public T pick(double u) {
+        int k = pickIndex(u);
+        return k < 0 ? null : (T) outcomes[k];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) outcomes[index];
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+}
\ No newline at end of file
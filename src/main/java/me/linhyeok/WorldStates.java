@@ -0,0 +1,61 @@
+package me.linhyeok;
+
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 월드별 판정 캐시 (RuleSnapshot마다 하나, 설정은 불변 + 월드별 지연 생성).
+ * - 월드 UID → 활성 여부/밝기 기준. 월드 이름 비교는 그 월드의 첫 조회 때 한 번만
+ * - WorldLoadEvent/리로드 때 미리 채우고, WorldUnloadEvent 때 제거 (같은 이름으로 다시 로드되면 UID가 달라짐)
+ */
+final class WorldStates {
+
+    /** 월드 하나의 판정 결과 */
+    static final class State {
+        final boolean enabled;
+        final int lightThreshold;
+
+        State(boolean enabled, int lightThreshold) {
+            this.enabled = enabled;
+            this.lightThreshold = lightThreshold;
+        }
+    }
+
+    private final Set<String> enabledWorlds;
+    private final int lightThreshold;
+    private final Map<String, Integer> worldLightThresholds;
+    private final Map<UUID, State> states = new ConcurrentHashMap<>();
+
+    WorldStates(Set<String> enabledWorlds, int lightThreshold, Map<String, Integer> worldLightThresholds) {
+        this.enabledWorlds = Set.copyOf(enabledWorlds);
+        this.lightThreshold = lightThreshold;
+        this.worldLightThresholds = Map.copyOf(worldLightThresholds);
+    }
+
+    State get(World world) {
+        State state = states.get(world.getUID());
+        return state != null ? state : resolve(world);
+    }
+
+    /** 월드 하나를 이름으로 판정해서 캐시 (WorldLoadEvent, 또는 미리 채워지지 않은 월드의 첫 조회) */
+    State resolve(World world) {
+        String name = world.getName();
+        State state = new State(enabledWorlds.contains(name),
+                worldLightThresholds.getOrDefault(name, lightThreshold));
+        states.put(world.getUID(), state);
+        return state;
+    }
+
+    void resolveAll(Collection<? extends World> worlds) {
+        for (World world : worlds) resolve(world);
+    }
+
+    void forget(World world) {
+        states.remove(world.getUID());
+    }
+}
\ No newline at end of file
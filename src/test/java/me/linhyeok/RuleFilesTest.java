@@ -0,0 +1,76 @@
+package me.linhyeok;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleFilesTest {
+
+    private static final String BASE = String.join("\n",
+            "enabled: true",
+            "natural-limit: 0.5",
+            "weapon:",
+            "  WOODEN_SWORD: 0.05",
+            "  IRON_SWORD: 0.007",
+            "helmet:",
+            "  IRON_HELMET: 0.02",
+            "");
+
+    private static YamlConfiguration yaml(String text) throws InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(text);
+        return yaml;
+    }
+
+    @Test
+    void ruleFileReplacesWeaponTableAndDropsConfigMaterial(@TempDir File dataFolder)
+            throws IOException, InvalidConfigurationException {
+        File rules = new File(dataFolder, RuleFiles.DIRECTORY);
+        assertTrue(rules.mkdirs());
+        Files.writeString(new File(rules, "zombie.yml").toPath(), String.join("\n",
+                "natural-limit: 0.8",
+                "weapon:",
+                "  IRON_SWORD: 0.1",
+                ""), StandardCharsets.UTF_8);
+
+        List<String> errors = new ArrayList<>();
+        Map<String, ConfigurationSection> files = new RuleFiles(dataFolder).load(errors);
+        assertTrue(errors.isEmpty(), errors::toString);
+
+        ConfigurationSection merged = RuleFiles.merge(yaml(BASE), files.get("zombie"));
+
+        // weapon은 파일 것으로 통째로 교체: config.yml의 WOODEN_SWORD는 빠짐
+        ConfigurationSection weapon = merged.getConfigurationSection("weapon");
+        assertNotNull(weapon);
+        assertEquals(Set.of("IRON_SWORD"), weapon.getKeys(false));
+        assertEquals(0.1, weapon.getDouble("IRON_SWORD"));
+
+        // 파일에 없는 키는 config.yml 값 유지
+        assertEquals(0.8, merged.getDouble("natural-limit"));
+        assertTrue(merged.getBoolean("enabled"));
+        assertEquals(Set.of("IRON_HELMET"), merged.getConfigurationSection("helmet").getKeys(false));
+    }
+
+    @Test
+    void emptyTableInRuleFileClearsConfigTable() throws InvalidConfigurationException {
+        ConfigurationSection merged = RuleFiles.merge(yaml(BASE), yaml("weapon: {}\n"));
+
+        ConfigurationSection weapon = merged.getConfigurationSection("weapon");
+        assertNotNull(weapon);
+        assertTrue(weapon.getKeys(false).isEmpty());
+        assertEquals(Set.of("IRON_HELMET"), merged.getConfigurationSection("helmet").getKeys(false));
+    }
+}
\ No newline at end of file